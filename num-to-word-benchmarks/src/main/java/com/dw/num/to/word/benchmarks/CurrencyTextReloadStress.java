@@ -0,0 +1,178 @@
+package com.dw.num.to.word.benchmarks;
+
+import com.dw.num.to.word.CompiledNumberToWordEngine;
+import com.dw.num.to.word.NumberToWord;
+import com.dw.num.to.word.NumberToWordEngines;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replaces the currency texts of an engine in a loop while threads convert amounts, and checks
+ * every result against the words of the texts it may have been rendered with.
+ *
+ * <p>Texts cycle through three versions. A conversion seeing no replacement complete while it ran
+ * must give the words of the version in use when it started, or of the next one if a replacement
+ * was under way; words mixing two versions, or a stale cached result of the previous version,
+ * are reported. The result cache is on, so that its invalidation is checked too.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.dw.num.to.word.benchmarks.CurrencyTextReloadStress \
+ *     [seconds] [threads]
+ * </pre>
+ *
+ * <p>Exits with status 1 if any result was inconsistent.
+ */
+public final class CurrencyTextReloadStress {
+
+  private static final String LANGUAGE = "en";
+  private static final String[] CURRENCY_CODES = {"USD", "MXN", "INR", null};
+  private static final int AMOUNTS = 4096;
+  private static final int CACHE_ENTRIES = 1024;
+  private static final int MAX_REPORTED = 10;
+
+  private static final String[] VERSIONS = {
+      "{\"USD\":{\"wholeValText\":\"Dollars\",\"decimalValText\":\"Cents\"},"
+          + "\"MXN\":{\"wholeValText\":\"Pesos\",\"decimalValText\":\"Centavos\"}}",
+      "{\"USD\":{\"wholeValText\":\"US Dollars\",\"decimalValText\":\"US Cents\"},"
+          + "\"MXN\":{\"wholeValText\":\"Mexican Pesos\",\"decimalValText\":\"Centavos\"}}",
+      "{\"USD\":{\"wholeValText\":\"Dollars\",\"decimalValText\":\"Pennies\"},"
+          + "\"MXN\":{\"wholeValText\":\"Pesos MXN\",\"decimalValText\":\"Centavos MXN\"}}"};
+
+  private final CompiledNumberToWordEngine engine;
+  private final String[] amounts = new String[AMOUNTS];
+  private final String[] currencyCodes = new String[AMOUNTS];
+  private final String[][] expected = new String[VERSIONS.length][AMOUNTS];
+
+  private volatile long published;
+  private volatile boolean running = true;
+  private final AtomicLong conversions = new AtomicLong();
+  private final AtomicLong inconsistencies = new AtomicLong();
+
+  private CurrencyTextReloadStress(CompiledNumberToWordEngine engine) {
+    this.engine = engine;
+  }
+
+  public static void main(String[] args) throws Exception {
+    int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+    int threads = args.length > 1 ? Integer.parseInt(args[1])
+        : Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+    CompiledNumberToWordEngine engine =
+        (CompiledNumberToWordEngine) NumberToWordEngines.get(LANGUAGE);
+    CurrencyTextReloadStress stress = new CurrencyTextReloadStress(engine);
+    stress.prepare();
+    long reloads = stress.run(seconds, threads);
+    engine.resetCurrencyText();
+    System.out.printf("%d conversions on %d threads, %d reloads in %d s, %d inconsistent%n",
+        stress.conversions.get(), threads, reloads, seconds, stress.inconsistencies.get());
+    if (stress.inconsistencies.get() > 0) {
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Renders the words of every amount with each version of the texts, without the cache.
+   */
+  private void prepare() throws IOException {
+    NumberToWord.setCacheMaxEntries(0);
+    Random random = new Random(42);
+    for (int i = 0; i < AMOUNTS; i++) {
+      amounts[i] = NumToWordBenchmark.amount(random, 1 + random.nextInt(12), random.nextBoolean());
+      currencyCodes[i] = CURRENCY_CODES[random.nextInt(CURRENCY_CODES.length)];
+    }
+    for (int version = 0; version < VERSIONS.length; version++) {
+      apply(version);
+      for (int i = 0; i < AMOUNTS; i++) {
+        expected[version][i] = NumberToWord.numToWord(amounts[i], LANGUAGE, currencyCodes[i]);
+      }
+    }
+    apply(0);
+    NumberToWord.setCacheMaxEntries(CACHE_ENTRIES);
+  }
+
+  private void apply(int version) throws IOException {
+    engine.replaceCurrencyText(
+        new ByteArrayInputStream(VERSIONS[version].getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * Converts on given number of threads while replacing texts on this one.
+   *
+   * @return number of replacements
+   */
+  private long run(int seconds, int threads) throws Exception {
+    List<Thread> readers = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      Thread reader = new Thread(new Reader(i), "reader-" + i);
+      readers.add(reader);
+      reader.start();
+    }
+    long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+    long version = 0;
+    while (System.nanoTime() < end) {
+      apply((int) ((version + 1) % VERSIONS.length));
+      version++;
+      published = version;
+    }
+    running = false;
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    return version;
+  }
+
+  /**
+   * Converts random amounts as String and as UTF-8 bytes and checks the words.
+   */
+  private final class Reader implements Runnable {
+
+    private final Random random;
+    private final ByteBuffer bytes = ByteBuffer.allocate(1024);
+
+    Reader(int seed) {
+      this.random = new Random(seed);
+    }
+
+    @Override
+    public void run() {
+      while (running) {
+        int amount = random.nextInt(AMOUNTS);
+        long before = published;
+        String words = NumberToWord.numToWord(amounts[amount], LANGUAGE, currencyCodes[amount]);
+        bytes.clear();
+        NumberToWord.render(amounts[amount], LANGUAGE, currencyCodes[amount], bytes);
+        long after = published;
+        check(amount, before, after, words);
+        check(amount, before, after,
+            new String(bytes.array(), 0, bytes.position(), StandardCharsets.UTF_8));
+        conversions.addAndGet(2);
+      }
+    }
+
+    private void check(int amount, long before, long after, String words) {
+      int current = (int) (before % VERSIONS.length);
+      int next = (current + 1) % VERSIONS.length;
+      boolean consistent;
+      if (before == after) {
+        consistent = words.equals(expected[current][amount])
+            || words.equals(expected[next][amount]);
+      } else {
+        consistent = false;
+        for (String[] version : expected) {
+          consistent |= words.equals(version[amount]);
+        }
+      }
+      if (!consistent && inconsistencies.incrementAndGet() <= MAX_REPORTED) {
+        System.err.printf("%s %s gave \"%s\" with version %d in use%n", amounts[amount],
+            currencyCodes[amount], words, current);
+      }
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.dw.num.to.word.benchmarks;
+
+import com.dw.num.to.word.NumberToWord;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of metrics on {@link NumberToWord#numToWord(String, String, String)}: "off" must match
+ * {@link NumToWordBenchmark#numToWord}, "on" shows the price of measuring every conversion.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+  private static final int AMOUNTS = 1024;
+
+  @Param({"off", "on"})
+  public String metrics;
+
+  @Param({"en", "hi"})
+  public String language;
+
+  private String[] amounts;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(9);
+    amounts = new String[AMOUNTS];
+    for (int i = 0; i < AMOUNTS; i++) {
+      amounts[i] = NumToWordBenchmark.amount(random, 9, true);
+    }
+    NumberToWord.setMetricsEnabled("on".equals(metrics));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    NumberToWord.setMetricsEnabled(false);
+  }
+
+  /**
+   * Per thread cursor over the amounts.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+
+    String nextAmount(String[] amounts) {
+      String amount = amounts[next];
+      next = (next + 1) & (AMOUNTS - 1);
+      return amount;
+    }
+  }
+
+  @Benchmark
+  public String numToWord(Cursor cursor) {
+    return NumberToWord.numToWord(cursor.nextAmount(amounts), language, "INR");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String numToWordMultiThreaded(Cursor cursor) {
+    return NumberToWord.numToWord(cursor.nextAmount(amounts), language, "INR");
+  }
+}
@@ -0,0 +1,102 @@
+package com.dw.num.to.word.benchmarks;
+
+import com.dw.num.to.word.NumberToWord;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One amount in words in several languages, as printed on bilingual invoices: a call of
+ * {@link NumberToWord#numToWord(String, String, String)} per language against one call of
+ * {@link NumberToWord#numToWord(String, String[], String)}, and the same into reused buffers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MultilingualBenchmark {
+
+  private static final int AMOUNTS = 1024;
+
+  /**
+   * Languages of the invoice, separated by "+" as JMH splits parameters on commas.
+   */
+  @Param({"en+hi", "en+hi+gu"})
+  public String languages;
+
+  @Param({"9"})
+  public int digits;
+
+  private String[] codes;
+  private String[] amounts;
+  private StringBuilder[] buffers;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    codes = languages.split("\\+");
+    Random random = new Random(21);
+    amounts = new String[AMOUNTS];
+    for (int i = 0; i < AMOUNTS; i++) {
+      amounts[i] = NumToWordBenchmark.amount(random, digits, true);
+    }
+    buffers = new StringBuilder[codes.length];
+    for (int i = 0; i < codes.length; i++) {
+      buffers[i] = new StringBuilder(256);
+    }
+  }
+
+  private String nextAmount() {
+    String amount = amounts[next];
+    next = (next + 1) & (AMOUNTS - 1);
+    return amount;
+  }
+
+  @Benchmark
+  public void numToWordPerLanguage(Blackhole blackhole) {
+    String amount = nextAmount();
+    for (String code : codes) {
+      blackhole.consume(NumberToWord.numToWord(amount, code, "INR"));
+    }
+  }
+
+  @Benchmark
+  public String[] numToWordAll() {
+    return NumberToWord.numToWord(nextAmount(), codes, "INR");
+  }
+
+  @Benchmark
+  public StringBuilder[] renderPerLanguage() {
+    String amount = nextAmount();
+    for (int i = 0; i < codes.length; i++) {
+      buffers[i].setLength(0);
+      NumberToWord.render(amount, codes[i], "INR", buffers[i]);
+    }
+    return buffers;
+  }
+
+  @Benchmark
+  public StringBuilder[] renderAll() {
+    for (StringBuilder buffer : buffers) {
+      buffer.setLength(0);
+    }
+    NumberToWord.render(nextAmount(), codes, "INR", buffers);
+    return buffers;
+  }
+}
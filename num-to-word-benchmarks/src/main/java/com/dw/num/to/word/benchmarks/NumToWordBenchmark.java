@@ -0,0 +1,136 @@
+package com.dw.num.to.word.benchmarks;
+
+import com.dw.num.to.word.NumberToWord;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link NumberToWord} for every language, amount magnitude, with and without a
+ * fraction and with the default or a looked up currency.
+ *
+ * <p>Run with {@code -prof gc} to get the allocation rate (gc.alloc.rate.norm is bytes/op).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NumToWordBenchmark {
+
+  private static final int AMOUNTS = 1024;
+
+  @Param({"en", "hi", "gu"})
+  public String language;
+
+  /**
+   * Number of digits of the whole part, 18 being the largest that always fits a long.
+   */
+  @Param({"1", "3", "6", "9", "12", "15", "18"})
+  public int digits;
+
+  @Param({"false", "true"})
+  public boolean fraction;
+
+  /**
+   * "default" renders Rupees/Paise without a currency code, "lookup" resolves a currency code.
+   */
+  @Param({"default", "lookup"})
+  public String currency;
+
+  private String[] amounts;
+  private String currencyCode;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(digits * 31 + (fraction ? 1 : 0));
+    amounts = new String[AMOUNTS];
+    for (int i = 0; i < AMOUNTS; i++) {
+      amounts[i] = amount(random, digits, fraction);
+    }
+    if ("lookup".equals(currency)) {
+      currencyCode = "en".equals(language) ? "USD" : "INR";
+    }
+  }
+
+  static String amount(Random random, int digits, boolean fraction) {
+    StringBuilder sb = new StringBuilder(digits + 3);
+    sb.append((char) ('1' + random.nextInt(9)));
+    for (int i = 1; i < digits; i++) {
+      sb.append((char) ('0' + random.nextInt(10)));
+    }
+    if (fraction) {
+      sb.append('.').append(1 + random.nextInt(99));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Per thread cursor over the amounts and reused output buffer.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+    final StringBuilder buffer = new StringBuilder(256);
+    final ByteBuffer bytes = ByteBuffer.allocate(1024);
+
+    String nextAmount(String[] amounts) {
+      String amount = amounts[next];
+      next = (next + 1) & (AMOUNTS - 1);
+      return amount;
+    }
+  }
+
+  @Benchmark
+  public String numToWord(Cursor cursor) {
+    return NumberToWord.numToWord(cursor.nextAmount(amounts), language, currencyCode);
+  }
+
+  @Benchmark
+  public int renderReusedBuffer(Cursor cursor) {
+    StringBuilder buffer = cursor.buffer;
+    buffer.setLength(0);
+    NumberToWord.render(cursor.nextAmount(amounts), language, currencyCode, buffer);
+    return buffer.length();
+  }
+
+  /**
+   * Bytes the way callers used to get them: a String, then a charset encode.
+   */
+  @Benchmark
+  public byte[] encodeString(Cursor cursor) {
+    return NumberToWord.numToWord(cursor.nextAmount(amounts), language, currencyCode)
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public int renderBytes(Cursor cursor) {
+    ByteBuffer bytes = cursor.bytes;
+    bytes.clear();
+    NumberToWord.render(cursor.nextAmount(amounts), language, currencyCode, bytes);
+    return bytes.position();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String numToWordMultiThreaded(Cursor cursor) {
+    return NumberToWord.numToWord(cursor.nextAmount(amounts), language, currencyCode);
+  }
+}
@@ -0,0 +1,93 @@
+package com.dw.num.to.word.benchmarks;
+
+import com.dw.num.to.word.LetterCase;
+import com.dw.num.to.word.NumberToWord;
+import com.dw.num.to.word.RenderOptions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of styled words: {@link NumberToWord#numToWord(String, String, String, RenderOptions)}
+ * must match the default style of {@link NumToWordBenchmark#numToWord} whatever the style, while
+ * {@link #postProcessed} shows the price of restyling default words as callers used to.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderOptionsBenchmark {
+
+  private static final int AMOUNTS = 1024;
+
+  /**
+   * "default" renders words as defined, "upper" in upper case, "british" with "and" after the
+   * hundreds and hyphenated tens.
+   */
+  @Param({"default", "upper", "british"})
+  public String style;
+
+  private String[] amounts;
+  private RenderOptions options;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(19);
+    amounts = new String[AMOUNTS];
+    for (int i = 0; i < AMOUNTS; i++) {
+      amounts[i] = NumToWordBenchmark.amount(random, 9, true);
+    }
+    if ("upper".equals(style)) {
+      options = RenderOptions.builder().letterCase(LetterCase.UPPER).build();
+    } else if ("british".equals(style)) {
+      options = RenderOptions.builder().tensSeparator("-").hundredConnector("and").build();
+    } else {
+      options = RenderOptions.DEFAULT;
+    }
+  }
+
+  /**
+   * Per thread cursor over the amounts.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+
+    String nextAmount(String[] amounts) {
+      String amount = amounts[next];
+      next = (next + 1) & (AMOUNTS - 1);
+      return amount;
+    }
+  }
+
+  @Benchmark
+  public String numToWord(Cursor cursor) {
+    return NumberToWord.numToWord(cursor.nextAmount(amounts), "en", "INR", options);
+  }
+
+  /**
+   * Default words upper cased by the caller, the copy the upper style of {@link #numToWord} saves;
+   * the same whatever the style.
+   */
+  @Benchmark
+  public String postProcessed(Cursor cursor) {
+    return NumberToWord.numToWord(cursor.nextAmount(amounts), "en", "INR")
+        .toUpperCase(Locale.ROOT);
+  }
+}
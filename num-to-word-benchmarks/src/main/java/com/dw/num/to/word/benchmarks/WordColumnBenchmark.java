@@ -0,0 +1,68 @@
+package com.dw.num.to.word.benchmarks;
+
+import com.dw.num.to.word.NumberToWordBulk;
+import com.dw.num.to.word.WordColumn;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk conversion of a batch of amounts in minor units, into a String per row with
+ * {@link NumberToWordBulk#numToWord(long[], String, String, java.util.concurrent.Executor)} on one
+ * thread, against rows of a reused {@link WordColumn}. Run with {@code -prof gc}: the column must
+ * allocate nothing per batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WordColumnBenchmark {
+
+  private static final int ROWS = 4096;
+
+  @Param({"en", "hi", "gu"})
+  public String language;
+
+  private long[] minorUnits;
+  private ForkJoinPool singleThread;
+  private WordColumn column;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(20);
+    minorUnits = new long[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      minorUnits[i] = (long) (random.nextDouble() * 1_000_000_000_00L);
+    }
+    singleThread = new ForkJoinPool(1);
+    column = new WordColumn(ROWS, ROWS * 128);
+  }
+
+  @Benchmark
+  public String[] strings() {
+    return NumberToWordBulk.numToWord(minorUnits, language, "INR", singleThread);
+  }
+
+  @Benchmark
+  public WordColumn column() {
+    column.reset();
+    NumberToWordBulk.render(minorUnits, language, "INR", column);
+    return column;
+  }
+}
@@ -0,0 +1,82 @@
+package com.dw.num.to.word.benchmarks;
+
+import com.dw.num.to.word.NumberToWord;
+import com.dw.num.to.word.ParsedAmount;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link NumberToWord#wordToNum(CharSequence, String)} reading back amounts rendered
+ * by {@link NumberToWord#numToWord(String, String, String)}, as written or upper cased with
+ * doubled spaces the way OCR output often comes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WordToNumBenchmark {
+
+  private static final int AMOUNTS = 1024;
+
+  @Param({"en", "hi", "gu"})
+  public String language;
+
+  @Param({"3", "9", "18"})
+  public int digits;
+
+  /**
+   * "rendered" reads the words as rendered, "ocr" upper cased with doubled spaces.
+   */
+  @Param({"rendered", "ocr"})
+  public String text;
+
+  private String[] words;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(digits * 17);
+    String currencyCode = "en".equals(language) ? "USD" : "INR";
+    words = new String[AMOUNTS];
+    for (int i = 0; i < AMOUNTS; i++) {
+      String amount = NumberToWord.numToWord(NumToWordBenchmark.amount(random, digits, true),
+          language, currencyCode);
+      words[i] = "ocr".equals(text) ? amount.toUpperCase(Locale.ROOT).replace(" ", "  ") : amount;
+    }
+  }
+
+  /**
+   * Per thread cursor over the words.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+
+    String nextWords(String[] words) {
+      String amount = words[next];
+      next = (next + 1) & (AMOUNTS - 1);
+      return amount;
+    }
+  }
+
+  @Benchmark
+  public ParsedAmount wordToNum(Cursor cursor) {
+    return NumberToWord.wordToNum(cursor.nextWords(words), language);
+  }
+}
@@ -0,0 +1,125 @@
+package com.dw.num.to.word.server;
+
+import com.dw.num.to.word.NumberToWord;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts the amounts posted to {@code POST /convert/batch?language=hi&currency=INR}, in the
+ * format of the request body:
+ *
+ * <ul>
+ *   <li>{@code application/json}: an array of amounts, strings or numbers, answered by an array of
+ *       words with {@code null} for amounts that cannot be parsed;</li>
+ *   <li>{@code application/x-ndjson}: one JSON amount per line, answered by one JSON string per
+ *       line, {@code null} for amounts that cannot be parsed;</li>
+ *   <li>anything else: one plain amount per line, answered by one line of words per line, empty
+ *       for amounts that cannot be parsed.</li>
+ * </ul>
+ *
+ * <p>The n-th element or line of the response always belongs to the n-th amount of the request.
+ */
+final class BatchConversionHandler implements HttpHandler {
+
+  private final int maxBodyBytes;
+  private final int maxAmounts;
+
+  BatchConversionHandler(int maxBodyBytes, int maxAmounts) {
+    this.maxBodyBytes = maxBodyBytes;
+    this.maxAmounts = maxAmounts;
+  }
+
+  @Override
+  public void handle(HttpExchange exchange) throws IOException {
+    if (!"POST".equals(exchange.getRequestMethod())) {
+      Exchanges.methodNotAllowed(exchange, "POST");
+      return;
+    }
+    byte[] body = Exchanges.body(exchange, maxBodyBytes);
+    if (body == null) {
+      Exchanges.send(exchange, 413, "Request body is larger than " + maxBodyBytes + " bytes");
+      return;
+    }
+    Map<String, String> parameters = Exchanges.parameters(exchange);
+    String language = ConversionHandler.language(parameters);
+    String currencyCode = parameters.get("currency");
+    String text = new String(body, StandardCharsets.UTF_8);
+    String contentType = Exchanges.contentType(exchange);
+    boolean json = "application/json".equals(contentType);
+    boolean ndjson = "application/x-ndjson".equals(contentType);
+
+    List<String> amounts;
+    try {
+      amounts = json ? Json.readAmounts(text) : lines(text, ndjson);
+    } catch (IllegalArgumentException e) {
+      Exchanges.send(exchange, 400, "Invalid request body: " + e.getMessage());
+      return;
+    }
+    if (amounts.size() > maxAmounts) {
+      Exchanges.send(exchange, 413, "Request has more than " + maxAmounts + " amounts");
+      return;
+    }
+
+    StringBuilder out = new StringBuilder(amounts.size() * 64 + 2);
+    if (json) {
+      out.append('[');
+    }
+    for (int i = 0; i < amounts.size(); i++) {
+      String words = convert(amounts.get(i), language, currencyCode);
+      if (json) {
+        Json.appendString(words, out.append(i == 0 ? "" : ","));
+      } else if (ndjson) {
+        Json.appendString(words, out).append('\n');
+      } else {
+        out.append(words == null ? "" : words).append('\n');
+      }
+    }
+    if (json) {
+      out.append(']');
+    }
+    Exchanges.send(exchange, 200,
+        json ? Exchanges.JSON : ndjson ? Exchanges.NDJSON : Exchanges.TEXT,
+        out.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Splits given text in lines, without the terminator of the last line; every line of
+   * newline-delimited JSON must hold a JSON amount.
+   */
+  private static List<String> lines(String text, boolean ndjson) {
+    List<String> lines = new ArrayList<>();
+    int start = 0;
+    while (start < text.length()) {
+      int end = text.indexOf('\n', start);
+      int next = end < 0 ? text.length() : end + 1;
+      if (end < 0) {
+        end = text.length();
+      }
+      if (end > start && text.charAt(end - 1) == '\r') {
+        end--;
+      }
+      String line = text.substring(start, end);
+      lines.add(ndjson ? Json.readAmount(line) : line);
+      start = next;
+    }
+    return lines;
+  }
+
+  private static String convert(String amount, String language, String currencyCode) {
+    if (amount == null) {
+      return null;
+    }
+    try {
+      return NumberToWord.numToWord(amount, language, currencyCode);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.dw.num.to.word.server;
+
+import com.dw.num.to.word.NumberToWord;
+import com.dw.num.to.word.NumberToWordEngines;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Converts the single amount of a {@code GET /convert?amount=1250.50&language=hi&currency=INR}
+ * request and answers its words as plain text, or 400 if the amount cannot be parsed.
+ */
+final class ConversionHandler implements HttpHandler {
+
+  @Override
+  public void handle(HttpExchange exchange) throws IOException {
+    if (!"GET".equals(exchange.getRequestMethod())) {
+      Exchanges.methodNotAllowed(exchange, "GET");
+      return;
+    }
+    Map<String, String> parameters = Exchanges.parameters(exchange);
+    String amount = parameters.get("amount");
+    if (amount == null) {
+      Exchanges.send(exchange, 400, "Missing amount parameter");
+      return;
+    }
+    String words;
+    try {
+      words = NumberToWord.numToWord(amount, language(parameters), parameters.get("currency"));
+    } catch (NumberFormatException e) {
+      Exchanges.send(exchange, 400, "Invalid amount: " + amount);
+      return;
+    }
+    Exchanges.send(exchange, 200, words);
+  }
+
+  static String language(Map<String, String> parameters) {
+    String language = parameters.get("language");
+    return language == null || language.isEmpty() ? NumberToWordEngines.DEFAULT_LANGUAGE
+        : language;
+  }
+}
@@ -0,0 +1,121 @@
+package com.dw.num.to.word.server;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reading requests and writing responses of {@link HttpExchange}s.
+ *
+ * <p>Responses always carry their length, and request bodies are always read to their end, so that
+ * the connection stays open for the next request of the client.
+ */
+final class Exchanges {
+
+  static final String TEXT = "text/plain; charset=UTF-8";
+  static final String JSON = "application/json; charset=UTF-8";
+  static final String NDJSON = "application/x-ndjson; charset=UTF-8";
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private Exchanges() {}
+
+  /**
+   * Decodes the query parameters of given exchange, the last value wins when one is repeated.
+   */
+  static Map<String, String> parameters(HttpExchange exchange) {
+    Map<String, String> parameters = new HashMap<>();
+    String query = exchange.getRequestURI().getRawQuery();
+    if (query == null || query.isEmpty()) {
+      return parameters;
+    }
+    for (String pair : query.split("&")) {
+      int equals = pair.indexOf('=');
+      if (equals < 0) {
+        parameters.put(decode(pair), "");
+      } else {
+        parameters.put(decode(pair.substring(0, equals)), decode(pair.substring(equals + 1)));
+      }
+    }
+    return parameters;
+  }
+
+  /**
+   * Reads the request body of given exchange, failing once it gets larger than given size.
+   *
+   * @return the body, null if it is larger than given size
+   */
+  static byte[] body(HttpExchange exchange, int maxBytes) throws IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+    byte[] chunk = new byte[8192];
+    boolean tooLarge = false;
+    try (InputStream in = exchange.getRequestBody()) {
+      int read;
+      while ((read = in.read(chunk)) >= 0) {
+        if (!tooLarge && body.size() + read > maxBytes) {
+          tooLarge = true;
+        }
+        if (!tooLarge) {
+          body.write(chunk, 0, read);
+        }
+      }
+    }
+    return tooLarge ? null : body.toByteArray();
+  }
+
+  /**
+   * Returns the media type of the request body, without parameters and in lower case.
+   */
+  static String contentType(HttpExchange exchange) {
+    String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+    if (contentType == null) {
+      return "";
+    }
+    int semicolon = contentType.indexOf(';');
+    return (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim()
+        .toLowerCase();
+  }
+
+  static void send(HttpExchange exchange, int status, String contentType, byte[] body)
+      throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", contentType);
+    if (body.length == 0) {
+      exchange.sendResponseHeaders(status, -1);
+      exchange.close();
+      return;
+    }
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  static void send(HttpExchange exchange, int status, String text) throws IOException {
+    send(exchange, status, TEXT, text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Answers 405 to a request of an unsupported method, after draining its body.
+   */
+  static void methodNotAllowed(HttpExchange exchange, String allowed) throws IOException {
+    body(exchange, 0);
+    exchange.getResponseHeaders().set("Allow", allowed);
+    send(exchange, 405, TEXT, EMPTY);
+  }
+
+  private static String decode(String value) {
+    try {
+      return URLDecoder.decode(value, "UTF-8");
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,221 @@
+package com.dw.num.to.word.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The little JSON the service speaks: flat arrays of amounts in, strings out.
+ *
+ * <p>An amount is a JSON string or number, whose text is handed to
+ * {@link com.dw.num.to.word.NumberToWord#numToWord(String, String, String)} as is, so that
+ * {@code "10.50"} and {@code 10.50} read the same. {@code null} stands for a missing amount.
+ */
+final class Json {
+
+  private Json() {}
+
+  /**
+   * Reads an array of amounts, e.g. {@code ["1250.50", 99, null]}.
+   *
+   * @throws IllegalArgumentException if given text is not such an array
+   */
+  static List<String> readAmounts(CharSequence text) {
+    Reader reader = new Reader(text);
+    List<String> amounts = new ArrayList<>();
+    reader.skipBlanks();
+    reader.expect('[');
+    reader.skipBlanks();
+    if (reader.peek() == ']') {
+      reader.next();
+    } else {
+      while (true) {
+        amounts.add(reader.readAmount());
+        reader.skipBlanks();
+        char c = reader.next();
+        if (c == ']') {
+          break;
+        }
+        if (c != ',') {
+          throw reader.error("',' or ']'");
+        }
+      }
+    }
+    reader.end();
+    return amounts;
+  }
+
+  /**
+   * Reads a single amount, as found on a line of newline-delimited JSON.
+   *
+   * @throws IllegalArgumentException if given text is not a string, a number or null
+   */
+  static String readAmount(CharSequence text) {
+    Reader reader = new Reader(text);
+    String amount = reader.readAmount();
+    reader.end();
+    return amount;
+  }
+
+  /**
+   * Appends given text as a JSON string, {@code null} if it is null.
+   */
+  static StringBuilder appendString(String text, StringBuilder out) {
+    if (text == null) {
+      return out.append("null");
+    }
+    out.append('"');
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '"':
+          out.append("\\\"");
+          break;
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '\r':
+          out.append("\\r");
+          break;
+        case '\t':
+          out.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            out.append(String.format("\\u%04x", (int) c));
+          } else {
+            out.append(c);
+          }
+      }
+    }
+    return out.append('"');
+  }
+
+  /**
+   * Cursor over the text being read.
+   */
+  private static final class Reader {
+
+    private final CharSequence text;
+    private int position;
+
+    Reader(CharSequence text) {
+      this.text = text;
+    }
+
+    String readAmount() {
+      skipBlanks();
+      char c = peek();
+      if (c == '"') {
+        return readString();
+      }
+      if (c == 'n') {
+        expectWord("null");
+        return null;
+      }
+      int start = position;
+      while (position < text.length() && isNumberChar(text.charAt(position))) {
+        position++;
+      }
+      if (position == start) {
+        throw error("an amount");
+      }
+      return text.subSequence(start, position).toString();
+    }
+
+    private String readString() {
+      next();
+      StringBuilder value = new StringBuilder();
+      while (true) {
+        char c = next();
+        if (c == '"') {
+          return value.toString();
+        }
+        if (c != '\\') {
+          value.append(c);
+          continue;
+        }
+        char escaped = next();
+        switch (escaped) {
+          case 'b':
+            value.append('\b');
+            break;
+          case 'f':
+            value.append('\f');
+            break;
+          case 'n':
+            value.append('\n');
+            break;
+          case 'r':
+            value.append('\r');
+            break;
+          case 't':
+            value.append('\t');
+            break;
+          case 'u':
+            if (position + 4 > text.length()) {
+              throw error("four hex digits");
+            }
+            try {
+              value.append((char) Integer.parseInt(
+                  text.subSequence(position, position + 4).toString(), 16));
+            } catch (NumberFormatException e) {
+              throw error("four hex digits");
+            }
+            position += 4;
+            break;
+          default:
+            value.append(escaped);
+        }
+      }
+    }
+
+    private void expectWord(String word) {
+      for (int i = 0; i < word.length(); i++) {
+        expect(word.charAt(i));
+      }
+    }
+
+    void expect(char expected) {
+      if (next() != expected) {
+        throw error("'" + expected + "'");
+      }
+    }
+
+    void skipBlanks() {
+      while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+        position++;
+      }
+    }
+
+    void end() {
+      skipBlanks();
+      if (position < text.length()) {
+        throw error("end of input");
+      }
+    }
+
+    char peek() {
+      if (position >= text.length()) {
+        throw error("more input");
+      }
+      return text.charAt(position);
+    }
+
+    char next() {
+      char c = peek();
+      position++;
+      return c;
+    }
+
+    IllegalArgumentException error(String expected) {
+      return new IllegalArgumentException("Expected " + expected + " at offset " + position);
+    }
+
+    private static boolean isNumberChar(char c) {
+      return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+    }
+  }
+}
@@ -0,0 +1,294 @@
+package com.dw.num.to.word.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load generator of {@link NumberToWordServer}: clients send requests back to back over
+ * keep-alive connections for a given time and the throughput and latency percentiles of the run
+ * are printed. Without {@code --url}, a server is started in the same process on a free port of
+ * localhost.
+ *
+ * <pre>
+ * java -cp num-to-word-server.jar com.dw.num.to.word.server.LoadGenerator [options]
+ *   -u, --url &lt;url&gt;          base url of a running server, e.g. http://127.0.0.1:8080
+ *   -t, --threads &lt;count&gt;    concurrent clients, 16 by default
+ *   -d, --duration &lt;secs&gt;    measured seconds, after as many seconds of warm-up, 10 by default
+ *   -b, --batch &lt;amounts&gt;    amounts per /convert/batch request, 0 for /convert, 0 by default
+ *   -l, --language &lt;code&gt;    language of the words, en by default
+ *   -c, --currency &lt;code&gt;    currency code, Rupees/Paise by default
+ * </pre>
+ */
+public final class LoadGenerator {
+
+  private static final String USAGE =
+      "Usage: java -cp num-to-word-server.jar com.dw.num.to.word.server.LoadGenerator [options]\n"
+      + "  -u, --url <url>          base url of a running server, e.g. http://127.0.0.1:8080\n"
+      + "  -t, --threads <count>    concurrent clients, 16 by default\n"
+      + "  -d, --duration <secs>    measured seconds, after as many seconds of warm-up,"
+      + " 10 by default\n"
+      + "  -b, --batch <amounts>    amounts per /convert/batch request, 0 for /convert,"
+      + " 0 by default\n"
+      + "  -l, --language <code>    language of the words, en by default\n"
+      + "  -c, --currency <code>    currency code, Rupees/Paise by default";
+
+  /**
+   * Number of distinct amounts sent, so that the cache of the server sees realistic reuse.
+   */
+  private static final int AMOUNTS = 50_000;
+
+  private LoadGenerator() {}
+
+  /**
+   * Runs the load described on the command line and prints its report.
+   *
+   * @param args options
+   */
+  public static void main(String[] args) throws Exception {
+    String url = null;
+    int threads = 16;
+    int seconds = 10;
+    int batch = 0;
+    String language = "en";
+    String currencyCode = null;
+    try {
+      for (int i = 0; i < args.length; i++) {
+        String arg = args[i];
+        switch (arg) {
+          case "-u":
+          case "--url":
+            url = value(args, ++i);
+            break;
+          case "-t":
+          case "--threads":
+            threads = Integer.parseInt(value(args, ++i));
+            break;
+          case "-d":
+          case "--duration":
+            seconds = Integer.parseInt(value(args, ++i));
+            break;
+          case "-b":
+          case "--batch":
+            batch = Integer.parseInt(value(args, ++i));
+            break;
+          case "-l":
+          case "--language":
+            language = value(args, ++i);
+            break;
+          case "-c":
+          case "--currency":
+            currencyCode = value(args, ++i);
+            break;
+          default:
+            throw new IllegalArgumentException("Unexpected argument: " + arg);
+        }
+      }
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(2);
+      return;
+    }
+
+    if (System.getProperty("http.maxConnections") == null) {
+      // Keep one idle connection per client instead of the default five.
+      System.setProperty("http.maxConnections", Integer.toString(threads));
+    }
+    NumberToWordServer server = null;
+    if (url == null) {
+      server = NumberToWordServer.start(new InetSocketAddress("127.0.0.1", 0));
+      url = "http://127.0.0.1:" + server.getAddress().getPort();
+      System.out.println("Started server on " + url
+          + (server.isVirtualThreads() ? " with virtual threads" : " with platform threads"));
+    }
+    try {
+      String query = "language=" + encode(language)
+          + (currencyCode == null ? "" : "&currency=" + encode(currencyCode));
+      String[] amounts = amounts();
+      run(url, query, amounts, threads, seconds, batch);
+      Report report = run(url, query, amounts, threads, seconds, batch);
+      System.out.println(report.format(threads, batch));
+    } finally {
+      if (server != null) {
+        server.close();
+      }
+    }
+  }
+
+  private static Report run(String url, String query, String[] amounts, int threads, int seconds,
+      int batch) throws Exception {
+    ExecutorService clients = Executors.newFixedThreadPool(threads);
+    try {
+      long end = System.nanoTime() + seconds * 1_000_000_000L;
+      Future<?>[] results = new Future<?>[threads];
+      for (int i = 0; i < threads; i++) {
+        results[i] = clients.submit(new Client(url, query, amounts, batch, end, i));
+      }
+      Report report = new Report(seconds);
+      for (Future<?> result : results) {
+        report.add((Client) result.get());
+      }
+      return report;
+    } finally {
+      clients.shutdown();
+    }
+  }
+
+  private static String[] amounts() {
+    Random random = new Random(42);
+    String[] amounts = new String[AMOUNTS];
+    for (int i = 0; i < AMOUNTS; i++) {
+      long whole = (long) Math.pow(10, random.nextInt(10)) + random.nextInt(1000);
+      amounts[i] = random.nextBoolean() ? Long.toString(whole) : whole + "." + random.nextInt(100);
+    }
+    return amounts;
+  }
+
+  private static String encode(String value) throws IOException {
+    return URLEncoder.encode(value, "UTF-8");
+  }
+
+  private static String value(String[] args, int index) {
+    if (index >= args.length || args[index].isEmpty()) {
+      throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+    }
+    return args[index];
+  }
+
+  /**
+   * One client sending requests until the end of the run, recording the latency of each.
+   */
+  private static final class Client implements Callable<Client> {
+
+    private final String url;
+    private final String query;
+    private final String[] amounts;
+    private final int batch;
+    private final long end;
+    private final Random random;
+    private final byte[] chunk = new byte[8192];
+    private long[] latencies = new long[1024];
+    private int requests;
+    private int errors;
+
+    Client(String url, String query, String[] amounts, int batch, long end, int seed) {
+      this.url = url;
+      this.query = query;
+      this.amounts = amounts;
+      this.batch = batch;
+      this.end = end;
+      this.random = new Random(seed);
+    }
+
+    @Override
+    public Client call() throws IOException {
+      while (System.nanoTime() < end) {
+        long start = System.nanoTime();
+        boolean ok = batch > 0 ? convertBatch() : convert();
+        long latency = System.nanoTime() - start;
+        if (!ok) {
+          errors++;
+        }
+        if (requests == latencies.length) {
+          latencies = Arrays.copyOf(latencies, requests * 2);
+        }
+        latencies[requests++] = latency;
+      }
+      return this;
+    }
+
+    private boolean convert() throws IOException {
+      String amount = amounts[random.nextInt(amounts.length)];
+      HttpURLConnection connection = (HttpURLConnection)
+          new URL(url + "/convert?amount=" + amount + "&" + query).openConnection();
+      return drain(connection);
+    }
+
+    private boolean convertBatch() throws IOException {
+      StringBuilder body = new StringBuilder(batch * 12);
+      for (int i = 0; i < batch; i++) {
+        body.append(amounts[random.nextInt(amounts.length)]).append('\n');
+      }
+      byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+      HttpURLConnection connection = (HttpURLConnection)
+          new URL(url + "/convert/batch?" + query).openConnection();
+      connection.setRequestMethod("POST");
+      connection.setDoOutput(true);
+      connection.setFixedLengthStreamingMode(bytes.length);
+      connection.setRequestProperty("Content-Type", "text/plain; charset=UTF-8");
+      try (OutputStream out = connection.getOutputStream()) {
+        out.write(bytes);
+      }
+      return drain(connection);
+    }
+
+    /**
+     * Reads the response to its end so that the connection goes back to the keep-alive pool.
+     */
+    private boolean drain(HttpURLConnection connection) throws IOException {
+      int status = connection.getResponseCode();
+      try (InputStream in = status < 400 ? connection.getInputStream()
+          : connection.getErrorStream()) {
+        if (in != null) {
+          while (in.read(chunk) >= 0) {
+            // Discard.
+          }
+        }
+      }
+      return status == 200;
+    }
+  }
+
+  /**
+   * Latencies of all clients of a run.
+   */
+  private static final class Report {
+
+    private final int seconds;
+    private long[] latencies = new long[0];
+    private long errors;
+
+    Report(int seconds) {
+      this.seconds = seconds;
+    }
+
+    void add(Client client) {
+      int size = latencies.length;
+      latencies = Arrays.copyOf(latencies, size + client.requests);
+      System.arraycopy(client.latencies, 0, latencies, size, client.requests);
+      errors += client.errors;
+    }
+
+    String format(int threads, int batch) {
+      Arrays.sort(latencies);
+      long requests = latencies.length;
+      double perSecond = (double) requests / seconds;
+      return String.format("%d clients, %s: %d requests, %d errors%n"
+          + "throughput: %.0f requests/s, %.0f amounts/s%n"
+          + "latency: p50 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms",
+          threads, batch > 0 ? batch + " amounts per request" : "1 amount per request",
+          requests, errors, perSecond, perSecond * Math.max(1, batch),
+          millis(0.50), millis(0.99), millis(0.999), millis(1.0));
+    }
+
+    private double millis(double percentile) {
+      if (latencies.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(percentile * latencies.length) - 1;
+      return latencies[Math.max(0, index)] / 1_000_000.0;
+    }
+  }
+}
@@ -0,0 +1,273 @@
+package com.dw.num.to.word.server;
+
+import com.dw.num.to.word.NumberToWord;
+import com.dw.num.to.word.NumberToWordEngines;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local HTTP endpoint of {@link NumberToWord}, on the JDK's built-in server, so that the
+ * applications of a host share one warmed-up and cached converter instead of each holding a cold
+ * copy.
+ *
+ * <ul>
+ *   <li>{@code GET /convert?amount=1250.50&language=hi&currency=INR}: words of one amount, see
+ *       {@link ConversionHandler};</li>
+ *   <li>{@code POST /convert/batch?language=hi&currency=INR}: words of many amounts, as a JSON
+ *       array, newline-delimited JSON or plain lines, see {@link BatchConversionHandler};</li>
+ *   <li>{@code GET /health}: {@code OK} once the server is up.</li>
+ * </ul>
+ *
+ * <p>Connections are kept alive between requests. Each request is handled on a virtual thread of
+ * its own when the JDK has them (21 and later). Otherwise requests go to a fixed pool of platform
+ * threads, two per processor, through a bounded queue; once the queue is full the accepting thread
+ * runs requests itself, which slows down accepting new ones instead of adding threads.
+ *
+ * <p>Starting the server converts a range of amounts in every registered language so that phrase
+ * tables are loaded and conversions compiled before the first request comes in, then enables the
+ * process-wide result cache, see {@link NumberToWord#setCacheMaxEntries(int)}. The warm-up runs
+ * without the cache: its amounts would fill it, each used once, and real amounts would not be
+ * frequent enough yet to displace them.
+ *
+ * <pre>
+ * java -jar num-to-word-server.jar [options]
+ *   -h, --host &lt;address&gt;    address to listen on, 127.0.0.1 by default
+ *   -p, --port &lt;port&gt;       port to listen on, 8080 by default
+ *   -c, --cache &lt;entries&gt;   maximum number of cached conversions, 100000 by default
+ *   -m, --metrics           enable conversion metrics
+ * </pre>
+ */
+public final class NumberToWordServer implements AutoCloseable {
+
+  /**
+   * Default port of the server.
+   */
+  public static final int DEFAULT_PORT = 8080;
+
+  /**
+   * Default maximum number of cached conversions.
+   */
+  public static final int DEFAULT_CACHE_MAX_ENTRIES = 100_000;
+
+  /**
+   * Largest request body accepted by {@code /convert/batch}.
+   */
+  public static final int MAX_BODY_BYTES = 8 * 1024 * 1024;
+
+  /**
+   * Largest number of amounts accepted by {@code /convert/batch} in one request.
+   */
+  public static final int MAX_AMOUNTS = 100_000;
+
+  private static final int WARM_UP_AMOUNTS = 20_000;
+  private static final int THREADS_PER_PROCESSOR = 2;
+  private static final int MAX_QUEUED_REQUESTS = 1024;
+  private static final int IDLE_THREAD_SECONDS = 60;
+  private static final int STOP_DELAY_SECONDS = 1;
+  private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+  private static final String USAGE =
+      "Usage: java -jar num-to-word-server.jar [options]\n"
+      + "  -h, --host <address>    address to listen on, 127.0.0.1 by default\n"
+      + "  -p, --port <port>       port to listen on, 8080 by default\n"
+      + "  -c, --cache <entries>   maximum number of cached conversions, 100000 by default\n"
+      + "  -m, --metrics           enable conversion metrics";
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final boolean virtualThreads;
+
+  private NumberToWordServer(HttpServer server, ExecutorService executor,
+      boolean virtualThreads) {
+    this.server = server;
+    this.executor = executor;
+    this.virtualThreads = virtualThreads;
+  }
+
+  /**
+   * Warms up the converter and starts a server on given address, with the default cache size.
+   *
+   * @param address address to listen on, port 0 picks a free port
+   * @return the running server
+   * @throws IOException if the address cannot be bound
+   */
+  public static NumberToWordServer start(InetSocketAddress address) throws IOException {
+    return start(address, DEFAULT_CACHE_MAX_ENTRIES);
+  }
+
+  /**
+   * Warms up the converter and starts a server on given address.
+   *
+   * @param address address to listen on, port 0 picks a free port
+   * @param cacheMaxEntries maximum number of cached conversions, 0 to disable caching
+   * @return the running server
+   * @throws IOException if the address cannot be bound
+   */
+  public static NumberToWordServer start(InetSocketAddress address, int cacheMaxEntries)
+      throws IOException {
+    if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+      // Headers and body are written apart: without TCP_NODELAY the body of a small response
+      // waits for the delayed acknowledgement of the client, some 40 ms.
+      System.setProperty(NO_DELAY_PROPERTY, "true");
+    }
+    NumberToWord.setCacheMaxEntries(0);
+    warmUp();
+    NumberToWord.setCacheMaxEntries(cacheMaxEntries);
+    ExecutorService executor = virtualThreadExecutor();
+    boolean virtualThreads = executor != null;
+    if (executor == null) {
+      executor = platformThreadExecutor();
+    }
+    HttpServer server = HttpServer.create(address, 0);
+    server.createContext("/convert", new ConversionHandler());
+    server.createContext("/convert/batch",
+        new BatchConversionHandler(MAX_BODY_BYTES, MAX_AMOUNTS));
+    server.createContext("/health", exchange -> {
+      Exchanges.body(exchange, 0);
+      Exchanges.send(exchange, 200, "OK");
+    });
+    server.setExecutor(executor);
+    server.start();
+    return new NumberToWordServer(server, executor, virtualThreads);
+  }
+
+  /**
+   * Provide the address the server listens on, with the actual port.
+   */
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  /**
+   * Provide whether requests are handled on virtual threads.
+   */
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * Stops accepting connections, lets requests in progress finish for up to a second and stops
+   * the request threads.
+   */
+  @Override
+  public void close() {
+    server.stop(STOP_DELAY_SECONDS);
+    executor.shutdown();
+    try {
+      executor.awaitTermination(STOP_DELAY_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Starts a server with the options given on the command line and runs until the process is
+   * stopped.
+   *
+   * @param args options
+   */
+  public static void main(String[] args) {
+    String host = "127.0.0.1";
+    int port = DEFAULT_PORT;
+    int cacheMaxEntries = DEFAULT_CACHE_MAX_ENTRIES;
+    boolean metrics = false;
+    try {
+      for (int i = 0; i < args.length; i++) {
+        String arg = args[i];
+        switch (arg) {
+          case "-h":
+          case "--host":
+            host = value(args, ++i);
+            break;
+          case "-p":
+          case "--port":
+            port = Integer.parseInt(value(args, ++i));
+            break;
+          case "-c":
+          case "--cache":
+            cacheMaxEntries = Integer.parseInt(value(args, ++i));
+            break;
+          case "-m":
+          case "--metrics":
+            metrics = true;
+            break;
+          default:
+            throw new IllegalArgumentException("Unexpected argument: " + arg);
+        }
+      }
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(2);
+      return;
+    }
+
+    NumberToWord.setMetricsEnabled(metrics);
+    try {
+      NumberToWordServer server = start(new InetSocketAddress(host, port), cacheMaxEntries);
+      Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+      System.out.println("Listening on http://" + host + ":" + server.getAddress().getPort()
+          + (server.isVirtualThreads() ? " with virtual threads" : " with platform threads"));
+    } catch (IOException e) {
+      System.err.println("Cannot start server: " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Converts a range of amounts, with and without fraction and currency, in every language.
+   */
+  private static void warmUp() {
+    for (String language : NumberToWordEngines.getLanguages()) {
+      for (int i = 0; i < WARM_UP_AMOUNTS; i++) {
+        NumberToWord.numToWord(Integer.toString(i * 7919), language, null);
+        NumberToWord.numToWord(i + "." + i % 100, language, "INR");
+      }
+    }
+  }
+
+  /**
+   * Returns an executor starting a virtual thread per task, null before Java 21.
+   */
+  private static ExecutorService virtualThreadExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns a fixed pool of platform threads with a bounded queue, running requests on the
+   * accepting thread once the queue is full.
+   */
+  private static ExecutorService platformThreadExecutor() {
+    AtomicInteger threads = new AtomicInteger();
+    int poolSize = THREADS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, IDLE_THREAD_SECONDS,
+        TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_REQUESTS), task -> {
+          Thread thread = new Thread(task, "num-to-word-server-" + threads.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static String value(String[] args, int index) {
+    if (index >= args.length || args[index].isEmpty()) {
+      throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+    }
+    return args[index];
+  }
+}
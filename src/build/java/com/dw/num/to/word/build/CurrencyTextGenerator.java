@@ -0,0 +1,131 @@
+package com.dw.num.to.word.build;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compiles the {@code currency-text-<language>.json} resources into Java constant tables, so that
+ * the engines do no JSON parsing at runtime. Runs in the generate-sources phase of the build.
+ *
+ * <p>Usage: {@code CurrencyTextGenerator <resources directory> <generated sources directory>}
+ */
+public final class CurrencyTextGenerator {
+
+  private static final String PACKAGE = "com.dw.num.to.word";
+  private static final String FILE_PREFIX = "currency-text-";
+  private static final String FILE_SUFFIX = ".json";
+  private static final String WHOLE_VAL_TEXT = "wholeValText";
+  private static final String DECIMAL_VAL_TEXT = "decimalValText";
+  private static final String DECIMAL_DIGITS = "decimalDigits";
+  private static final String DEFAULT_DECIMAL_DIGITS = "2";
+
+  private CurrencyTextGenerator() {}
+
+  /**
+   * Generates one class per currency text file found in given resources directory.
+   *
+   * @param args resources directory and generated sources directory
+   */
+  public static void main(String[] args) throws IOException {
+    File resources = new File(args[0]);
+    File packageDir = new File(args[1], PACKAGE.replace('.', File.separatorChar));
+    if (!packageDir.isDirectory() && !packageDir.mkdirs()) {
+      throw new IOException("Cannot create " + packageDir);
+    }
+
+    File[] files = resources.listFiles();
+    if (files == null) {
+      throw new IOException("Cannot list " + resources);
+    }
+    ObjectMapper objectMapper = new ObjectMapper();
+    for (File file : files) {
+      String name = file.getName();
+      if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+        continue;
+      }
+      String language =
+          name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length());
+      Map<String, Map<String, String>> texts = objectMapper.readValue(file,
+          new TypeReference<TreeMap<String, Map<String, String>>>() {});
+      String className = className(language);
+      write(new File(packageDir, className + ".java"), name, className, texts);
+    }
+  }
+
+  /**
+   * returns name of the class generated for given language, e.g. CurrencyTextEn for en.
+   */
+  static String className(String language) {
+    return "CurrencyText" + Character.toUpperCase(language.charAt(0)) + language.substring(1);
+  }
+
+  private static void write(File target, String source, String className,
+      Map<String, Map<String, String>> texts) throws IOException {
+    try (PrintWriter out = new PrintWriter(
+        new OutputStreamWriter(Files.newOutputStream(target.toPath()), StandardCharsets.UTF_8))) {
+      out.println("package " + PACKAGE + ";");
+      out.println();
+      out.println("/**");
+      out.println(" * Currency texts compiled from " + source + ", do not edit.");
+      out.println(" */");
+      out.println("final class " + className + " {");
+      out.println();
+      out.println("  private " + className + "() {}");
+      out.println();
+      out.println("  static final String[] CODES = {");
+      for (String code : texts.keySet()) {
+        out.println("      " + literal(code) + ",");
+      }
+      out.println("  };");
+      out.println();
+      writeTexts(out, "WHOLE_VAL_TEXTS", WHOLE_VAL_TEXT, texts);
+      out.println();
+      writeTexts(out, "DECIMAL_VAL_TEXTS", DECIMAL_VAL_TEXT, texts);
+      out.println();
+      out.println("  static final int[] DECIMAL_DIGITS = {");
+      for (Map<String, String> text : texts.values()) {
+        String digits = text.get(DECIMAL_DIGITS);
+        out.println("      " + Integer.parseInt(digits != null ? digits : DEFAULT_DECIMAL_DIGITS)
+            + ",");
+      }
+      out.println("  };");
+      out.println("}");
+    }
+  }
+
+  private static void writeTexts(PrintWriter out, String field, String key,
+      Map<String, Map<String, String>> texts) {
+    out.println("  static final String[] " + field + " = {");
+    for (Map<String, String> text : texts.values()) {
+      out.println("      " + literal(text.get(key)) + ",");
+    }
+    out.println("  };");
+  }
+
+  private static String literal(String value) {
+    if (value == null) {
+      return "null";
+    }
+    StringBuilder sb = new StringBuilder("\"");
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      if (ch == '"' || ch == '\\') {
+        sb.append('\\').append(ch);
+      } else if (ch < 0x20) {
+        sb.append(String.format("\\u%04x", (int) ch));
+      } else {
+        sb.append(ch);
+      }
+    }
+    return sb.append('"').toString();
+  }
+}
@@ -0,0 +1,311 @@
+package com.dw.num.to.word;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams a delimited text file (CSV and the like) holding an amount column and writes a copy of
+ * it with the amount in words appended as a last column.
+ *
+ * <p>The input is memory mapped window by window and scanned for line ends and delimiters in
+ * place: the amount is parsed straight from the mapped bytes, lines are copied to a direct output
+ * buffer without being decoded, words are copied from the pre-encoded phrase tables of the engine,
+ * and nothing is materialized per line. Memory use is bounded by the
+ * mapping window and the output buffer, whatever the size of the file.
+ *
+ * <p>Fields are not unquoted except for the amount itself, which may be surrounded by double
+ * quotes and blanks. Lines keep their original line terminator. Rows whose amount cannot be parsed
+ * or is negative get an empty words column and are counted in
+ * {@link ConversionReport#getFailedRows()}.
+ */
+public final class AmountFileConverter {
+
+  /**
+   * Default size of the mapped window of the input; the longest line must fit in it.
+   */
+  public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+  /**
+   * Default name of the words column written after the header.
+   */
+  public static final String DEFAULT_HEADER = "words";
+
+  private static final int OUTPUT_BUFFER_SIZE = 1024 * 1024;
+  private static final byte LINE_FEED = '\n';
+  private static final byte CARRIAGE_RETURN = '\r';
+  private static final byte QUOTE = '"';
+  private static final byte SPACE = ' ';
+  private static final byte TAB = '\t';
+  private static final byte MINUS = '-';
+
+  private final String language;
+  private final String currencyCode;
+  private final int column;
+  private byte delimiter = ',';
+  private boolean header;
+  private byte[] headerName = DEFAULT_HEADER.getBytes(StandardCharsets.UTF_8);
+  private int windowSize = DEFAULT_WINDOW_SIZE;
+
+  /**
+   * Creates a converter of given amount column.
+   *
+   * @param language code of language in which amounts need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param column index of the amount column, starting at 0
+   */
+  public AmountFileConverter(String language, String currencyCode, int column) {
+    if (column < 0) {
+      throw new IllegalArgumentException("column must not be negative: " + column);
+    }
+    this.language = language;
+    this.currencyCode = currencyCode;
+    this.column = column;
+  }
+
+  /**
+   * Sets the single byte character separating columns, ',' by default. A tab is allowed, but not
+   * a space nor a double quote, which surround amounts.
+   */
+  public AmountFileConverter setDelimiter(char delimiter) {
+    if (delimiter > 0x7f || delimiter == LINE_FEED || delimiter == CARRIAGE_RETURN
+        || delimiter == SPACE || delimiter == QUOTE) {
+      throw new IllegalArgumentException("Unsupported delimiter: '" + delimiter + "'");
+    }
+    this.delimiter = (byte) delimiter;
+    return this;
+  }
+
+  /**
+   * Sets whether the first line is a header, to which the words column name is appended.
+   */
+  public AmountFileConverter setHeader(boolean header) {
+    this.header = header;
+    return this;
+  }
+
+  /**
+   * Sets the name of the words column appended to the header, {@value #DEFAULT_HEADER} by default.
+   */
+  public AmountFileConverter setHeaderName(String headerName) {
+    this.headerName = headerName.getBytes(StandardCharsets.UTF_8);
+    return this;
+  }
+
+  /**
+   * Sets the size of the mapped window of the input, {@link #DEFAULT_WINDOW_SIZE} by default.
+   */
+  public AmountFileConverter setWindowSize(int windowSize) {
+    if (windowSize <= 0) {
+      throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+    }
+    this.windowSize = windowSize;
+    return this;
+  }
+
+  /**
+   * Converts given input file into given output file, which is created or overwritten.
+   *
+   * @param input delimited text file holding the amounts
+   * @param output file receiving the input lines followed by the amount in words, not the input
+   * @return rows and bytes processed, with throughput
+   * @throws IOException if a file cannot be read or written, the output is the input, or a line
+   *         does not fit in the mapped window
+   */
+  public ConversionReport convert(Path input, Path output) throws IOException {
+    if (Files.exists(output) && Files.isSameFile(input, output)) {
+      // Opening the output would truncate the input before it is read.
+      throw new IOException("Output file is the input file: " + output);
+    }
+    long start = System.nanoTime();
+    try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+        FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      Run run = new Run(out);
+      long size = in.size();
+      long position = 0;
+      while (position < size) {
+        int length = (int) Math.min(windowSize, size - position);
+        boolean last = position + length == size;
+        MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+        int consumed = run.convertLines(window, length, last);
+        if (consumed == 0) {
+          throw new IOException("Line at byte " + position + " is longer than the mapped window of "
+              + windowSize + " bytes");
+        }
+        position += consumed;
+      }
+      run.flush();
+      return new ConversionReport(run.rows, run.failedRows, size, run.bytesWritten,
+          System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * State of one conversion: output buffer, scratch objects and counters.
+   */
+  private final class Run {
+
+    private final FileChannel out;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+    private final NumberToWordEngine engine = NumberToWordEngines.getOrDefault(language);
+    private final AsciiSequence amount = new AsciiSequence();
+    private boolean headerPending = header;
+    private long rows;
+    private long failedRows;
+    private long bytesWritten;
+
+    Run(FileChannel out) {
+      this.out = out;
+    }
+
+    /**
+     * Converts the complete lines of given window.
+     *
+     * @return number of bytes consumed; a trailing incomplete line is left for the next window
+     */
+    int convertLines(ByteBuffer window, int length, boolean last) throws IOException {
+      ByteBuffer source = window.duplicate();
+      int lineStart = 0;
+      while (lineStart < length) {
+        int lineEnd = indexOf(window, LINE_FEED, lineStart, length);
+        int next;
+        if (lineEnd >= 0) {
+          next = lineEnd + 1;
+        } else if (last) {
+          lineEnd = length;
+          next = length;
+        } else {
+          break;
+        }
+        int contentEnd = lineEnd;
+        if (contentEnd > lineStart && window.get(contentEnd - 1) == CARRIAGE_RETURN) {
+          contentEnd--;
+        }
+        convertLine(window, source, lineStart, contentEnd, next);
+        lineStart = next;
+      }
+      return lineStart;
+    }
+
+    private void convertLine(ByteBuffer window, ByteBuffer source, int lineStart, int contentEnd,
+        int next) throws IOException {
+      boolean headerLine = headerPending;
+      headerPending = false;
+      if (buffer.remaining() < next - lineStart + 1 + headerName.length) {
+        flush();
+      }
+      int mark = buffer.position();
+      boolean converted;
+      try {
+        converted = writeLine(window, source, lineStart, contentEnd, next, headerLine);
+      } catch (BufferOverflowException e) {
+        // Words did not fit behind the lines already buffered: write those and start over.
+        buffer.position(mark);
+        flush();
+        try {
+          converted = writeLine(window, source, lineStart, contentEnd, next, headerLine);
+        } catch (BufferOverflowException again) {
+          throw new IOException("Line at byte " + lineStart + " of the window does not fit the"
+              + " output buffer of " + OUTPUT_BUFFER_SIZE + " bytes");
+        }
+      }
+      if (!headerLine && contentEnd > lineStart) {
+        rows++;
+        if (!converted) {
+          failedRows++;
+        }
+      }
+    }
+
+    /**
+     * Writes given line followed by the words of its amount.
+     *
+     * @return false if the line has an amount that cannot be parsed
+     */
+    private boolean writeLine(ByteBuffer window, ByteBuffer source, int lineStart, int contentEnd,
+        int next, boolean headerLine) {
+      boolean converted = true;
+      source.limit(contentEnd);
+      source.position(lineStart);
+      buffer.put(source);
+      if (headerLine) {
+        buffer.put(delimiter);
+        buffer.put(headerName);
+      } else if (contentEnd > lineStart) {
+        buffer.put(delimiter);
+        converted = renderAmount(window, lineStart, contentEnd);
+      }
+      source.limit(next);
+      source.position(contentEnd);
+      buffer.put(source);
+      return converted;
+    }
+
+    /**
+     * Writes the words of the amount of given line, nothing when it cannot be parsed.
+     *
+     * @return false if the amount cannot be parsed
+     */
+    private boolean renderAmount(ByteBuffer window, int lineStart, int contentEnd) {
+      int from = lineStart;
+      for (int field = 0; field < column; field++) {
+        int end = indexOf(window, delimiter, from, contentEnd);
+        if (end < 0) {
+          return false;
+        }
+        from = end + 1;
+      }
+      int to = indexOf(window, delimiter, from, contentEnd);
+      if (to < 0) {
+        to = contentEnd;
+      }
+      while (from < to && isBlankOrQuote(window.get(from))) {
+        from++;
+      }
+      while (to > from && isBlankOrQuote(window.get(to - 1))) {
+        to--;
+      }
+      if (from < to && window.get(from) == MINUS) {
+        // Engines render nothing for negative amounts but the currency text.
+        return false;
+      }
+      int start = buffer.position();
+      try {
+        engine.render(amount.set(window, from, to), currencyCode, buffer);
+        return true;
+      } catch (NumberFormatException e) {
+        buffer.position(start);
+        return false;
+      }
+    }
+
+    void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        bytesWritten += out.write(buffer);
+      }
+      buffer.clear();
+    }
+  }
+
+  private boolean isBlankOrQuote(byte value) {
+    // A tab delimiter ends the field, it is never part of it.
+    return value == SPACE || value == TAB && delimiter != TAB || value == QUOTE;
+  }
+
+  private static int indexOf(ByteBuffer buffer, byte value, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (buffer.get(i) == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,142 @@
+package com.dw.num.to.word;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Textual amount parsed once and split once into the groups of the phrase tables rendering it, so
+ * that rendering it in several languages only costs one lookup per group and language.
+ *
+ * <p>The groups depend on the numbering system and scale words of a language: they are split for
+ * the first language and split again only for a language whose plan of groups differs, see
+ * {@link PhraseTable#appendAmount(AmountGroups, CurrencyText, StringBuilder)}. Instances are
+ * reused, one per thread, through {@link #set(CharSequence)}.
+ */
+final class AmountGroups {
+
+  private static final int NOT_SPLIT = -1;
+
+  private CharSequence number;
+  private int wholeEnd;
+  private boolean beyondLong;
+  private long whole;
+  private long fraction;
+
+  private final int[] groupValues = new int[PhraseTable.MAX_SLOTS];
+  private int firstSlot;
+  private int splitPlan = NOT_SPLIT;
+
+  /**
+   * Parses given amount, with the rules of
+   * {@link NumberToWordEngine#render(CharSequence, String, StringBuilder)}.
+   *
+   * @param amount amount to render
+   * @return this instance
+   * @throws NumberFormatException if the amount is not a number
+   */
+  AmountGroups set(CharSequence amount) {
+    this.number = amount;
+    this.wholeEnd = AmountParser.wholeEnd(amount, AmountParser.trimmedLength(amount));
+    this.beyondLong = AmountParser.isBeyondLong(amount, 0, wholeEnd);
+    this.whole = beyondLong ? 0 : AmountParser.parseLong(amount, 0, wholeEnd);
+    this.fraction = AmountParser.parseFraction(amount);
+    this.splitPlan = NOT_SPLIT;
+    return this;
+  }
+
+  /**
+   * returns amount as given.
+   */
+  CharSequence number() {
+    return number;
+  }
+
+  /**
+   * returns exclusive end of the whole part in {@link #number()}.
+   */
+  int wholeEnd() {
+    return wholeEnd;
+  }
+
+  /**
+   * returns whether the whole part exceeds a long, and must be rendered from its digits.
+   */
+  boolean isBeyondLong() {
+    return beyondLong;
+  }
+
+  /**
+   * returns whole part of the amount, 0 when beyond a long.
+   */
+  long whole() {
+    return whole;
+  }
+
+  /**
+   * returns fraction part of the amount, as a plain number of its own.
+   */
+  long fraction() {
+    return fraction;
+  }
+
+  /**
+   * returns whether the whole part is split into the groups of given plan.
+   */
+  boolean isSplitFor(int plan) {
+    return splitPlan == plan;
+  }
+
+  /**
+   * Records that the whole part was split into {@link #groupValues()} for given plan, from given
+   * slot on.
+   */
+  void splitFor(int plan, int first) {
+    this.splitPlan = plan;
+    this.firstSlot = first;
+  }
+
+  /**
+   * returns values of the groups of the whole part by slot, from {@link #firstSlot()} on.
+   */
+  int[] groupValues() {
+    return groupValues;
+  }
+
+  /**
+   * returns slot holding the highest digit of the whole part.
+   */
+  int firstSlot() {
+    return firstSlot;
+  }
+
+  /**
+   * Append word representation of this amount in the language of given engine. Engines compiled
+   * from a definition render it from its groups, others parse it again.
+   *
+   * @param engine engine of the language
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param out buffer to which word representation is appended
+   */
+  void render(NumberToWordEngine engine, String currencyCode, StringBuilder out) {
+    if (engine instanceof CompiledNumberToWordEngine) {
+      ((CompiledNumberToWordEngine) engine).render(this, currencyCode, out);
+    } else {
+      engine.render(number, currencyCode, out);
+    }
+  }
+
+  /**
+   * Write UTF-8 encoded word representation of this amount in the language of given engine.
+   *
+   * @param engine engine of the language
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param out buffer to which encoded words are written
+   * @throws java.nio.BufferOverflowException if the buffer has not enough room left
+   */
+  void render(NumberToWordEngine engine, String currencyCode, ByteBuffer out) {
+    if (engine instanceof CompiledNumberToWordEngine) {
+      ((CompiledNumberToWordEngine) engine).render(this, currencyCode, out);
+    } else {
+      engine.render(number, currencyCode, out);
+    }
+  }
+}
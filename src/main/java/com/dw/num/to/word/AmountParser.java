@@ -0,0 +1,163 @@
+package com.dw.num.to.word;
+
+/**
+ * Parses amounts in place, without splitting the input into intermediate Strings.
+ *
+ * <p>The parsing rules mirror the historical {@code number.split("\\.")} followed by
+ * {@link Long#parseLong(String)}: trailing separators are ignored, the fraction is only taken into
+ * account when the amount has exactly one separator and a malformed part raises a
+ * {@link NumberFormatException}.
+ */
+final class AmountParser {
+
+  static final char SEPARATOR = '.';
+
+  /**
+   * Number of digits any value of which fits a long.
+   */
+  static final int MAX_LONG_DIGITS = 18;
+
+  private AmountParser() {}
+
+  /**
+   * returns length of the given amount once trailing separators are dropped.
+   *
+   * @param number amount to inspect
+   */
+  static int trimmedLength(CharSequence number) {
+    int end = number.length();
+    while (end > 0 && number.charAt(end - 1) == SEPARATOR) {
+      end--;
+    }
+    return end;
+  }
+
+  /**
+   * returns index of the first separator of the given amount, or {@code end} when it has none.
+   *
+   * @param number amount to inspect
+   * @param end exclusive end of the amount, as returned by {@link #trimmedLength(CharSequence)}
+   */
+  static int wholeEnd(CharSequence number, int end) {
+    for (int i = 0; i < end; i++) {
+      if (number.charAt(i) == SEPARATOR) {
+        return i;
+      }
+    }
+    return end;
+  }
+
+  /**
+   * returns true when the fraction starting after {@code wholeEnd} is the only one of the amount.
+   *
+   * @param number amount to inspect
+   * @param wholeEnd index of the first separator
+   * @param end exclusive end of the amount
+   */
+  static boolean hasFraction(CharSequence number, int wholeEnd, int end) {
+    if (wholeEnd >= end) {
+      return false;
+    }
+    for (int i = wholeEnd + 1; i < end; i++) {
+      if (number.charAt(i) == SEPARATOR) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * returns true when given range holds more significant digits than a long is sure to fit, with
+   * an optional sign and nothing else. Such numbers are rendered from their digits, other ranges
+   * go through {@link #parseLong(CharSequence, int, int)}.
+   *
+   * @param number amount to inspect
+   * @param begin inclusive start of the range
+   * @param end exclusive end of the range
+   */
+  static boolean isBeyondLong(CharSequence number, int begin, int end) {
+    int index = begin;
+    if (index < end && (number.charAt(index) == '-' || number.charAt(index) == '+')) {
+      index++;
+    }
+    while (index < end && Character.digit(number.charAt(index), 10) == 0) {
+      index++;
+    }
+    if (end - index <= MAX_LONG_DIGITS) {
+      return false;
+    }
+    for (int i = index; i < end; i++) {
+      if (Character.digit(number.charAt(i), 10) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * returns whole part of given amount.
+   *
+   * @param number amount to parse
+   * @throws NumberFormatException if the whole part is not a valid long
+   */
+  static long parseWhole(CharSequence number) {
+    return parseLong(number, 0, wholeEnd(number, trimmedLength(number)));
+  }
+
+  /**
+   * returns fraction part of given amount, as a plain number of its own, or 0 when it has none.
+   *
+   * @param number amount to parse
+   * @throws NumberFormatException if the fraction part is not a valid long
+   */
+  static long parseFraction(CharSequence number) {
+    int end = trimmedLength(number);
+    int wholeEnd = wholeEnd(number, end);
+    if (!hasFraction(number, wholeEnd, end)) {
+      return 0;
+    }
+    return parseLong(number, wholeEnd + 1, end);
+  }
+
+  /**
+   * Parses a signed decimal long from the given range, with the same contract as
+   * {@link Long#parseLong(String)}.
+   *
+   * @param number characters to parse
+   * @param begin inclusive start of the range
+   * @param end exclusive end of the range
+   */
+  static long parseLong(CharSequence number, int begin, int end) {
+    if (begin >= end) {
+      throw new NumberFormatException("For input string: \"" + number + "\"");
+    }
+    boolean negative = false;
+    long limit = -Long.MAX_VALUE;
+    int index = begin;
+    char first = number.charAt(index);
+    if (first == '-' || first == '+') {
+      if (end - begin == 1) {
+        throw new NumberFormatException("For input string: \"" + number + "\"");
+      }
+      if (first == '-') {
+        negative = true;
+        limit = Long.MIN_VALUE;
+      }
+      index++;
+    }
+    long multMin = limit / 10;
+    long result = 0;
+    for (; index < end; index++) {
+      int digit = Character.digit(number.charAt(index), 10);
+      if (digit < 0 || result < multMin) {
+        throw new NumberFormatException("For input string: \"" + number + "\"");
+      }
+      result *= 10;
+      if (result < limit + digit) {
+        throw new NumberFormatException("For input string: \"" + number + "\"");
+      }
+      result -= digit;
+    }
+    return negative ? result : -result;
+  }
+}
@@ -0,0 +1,56 @@
+package com.dw.num.to.word;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reusable {@link CharSequence} view over a range of single byte characters of a buffer, so that
+ * amounts read from a file can be parsed in place instead of being copied into Strings.
+ */
+final class AsciiSequence implements CharSequence {
+
+  private ByteBuffer buffer;
+  private int offset;
+  private int length;
+
+  /**
+   * Points this view at given range of given buffer.
+   *
+   * @param buffer buffer holding the characters
+   * @param from index of the first character
+   * @param to index after the last character
+   * @return this view
+   */
+  AsciiSequence set(ByteBuffer buffer, int from, int to) {
+    this.buffer = buffer;
+    this.offset = from;
+    this.length = to - from;
+    return this;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+    }
+    return (char) (buffer.get(offset + index) & 0xff);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return toString().substring(start, end);
+  }
+
+  @Override
+  public String toString() {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) (buffer.get(offset + i) & 0xff);
+    }
+    return new String(chars);
+  }
+}
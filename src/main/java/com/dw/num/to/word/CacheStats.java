@@ -0,0 +1,82 @@
+package com.dw.num.to.word;
+
+/**
+ * Immutable snapshot of the statistics of the {@link NumberToWord} result cache.
+ */
+public final class CacheStats {
+
+  private final long hitCount;
+  private final long missCount;
+  private final long evictionCount;
+  private final long rejectionCount;
+  private final int size;
+  private final int maxEntries;
+
+  CacheStats(long hitCount, long missCount, long evictionCount, long rejectionCount, int size,
+      int maxEntries) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.evictionCount = evictionCount;
+    this.rejectionCount = rejectionCount;
+    this.size = size;
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * returns number of conversions answered from the cache.
+   */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * returns number of conversions that had to be rendered.
+   */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * returns number of entries removed to make room for more frequently used amounts.
+   */
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * returns number of rendered results not admitted because they were used less often than the
+   * entries they would have replaced.
+   */
+  public long getRejectionCount() {
+    return rejectionCount;
+  }
+
+  /**
+   * returns number of entries currently cached.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * returns maximum number of cached entries, 0 when the cache is disabled.
+   */
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * returns ratio of hits over all lookups, 0 when nothing was looked up yet.
+   */
+  public double getHitRate() {
+    long requests = hitCount + missCount;
+    return requests == 0 ? 0 : (double) hitCount / requests;
+  }
+
+  @Override
+  public String toString() {
+    return "CacheStats{hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount="
+        + evictionCount + ", rejectionCount=" + rejectionCount + ", size=" + size
+        + ", maxEntries=" + maxEntries + "}";
+  }
+}
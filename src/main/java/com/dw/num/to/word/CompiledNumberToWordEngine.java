@@ -0,0 +1,475 @@
+package com.dw.num.to.word;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Engine of a language given by a {@link LanguageDefinition}, the one rendering path shared by
+ * every language, built-in or added.
+ *
+ * <p>The definition is compiled into phrase tables on the first conversion, so that discovering
+ * the engine stays cheap. A language is added from another jar by registering an instance with
+ * {@link NumberToWordEngines#register(NumberToWordEngine)}, or by listing a subclass with a public
+ * no-argument constructor in {@code META-INF/services/com.dw.num.to.word.NumberToWordEngine}:
+ *
+ * <pre>
+ * public class MarathiNumberToWord extends CompiledNumberToWordEngine {
+ *   public MarathiNumberToWord() {
+ *     super(LanguageDefinition.builder("mr").belowHundred(...).hundred("शे")
+ *         .scales("हजार", "लाख", "कोटी").currency("रुपये", "पैसे").only("फक्त").build());
+ *   }
+ * }
+ * </pre>
+ */
+public class CompiledNumberToWordEngine implements NumberToWordEngine {
+
+  private final Language language;
+
+  /**
+   * Creates the engine of given language.
+   *
+   * @param definition definition of the language
+   */
+  public CompiledNumberToWordEngine(LanguageDefinition definition) {
+    this.language = new Language(Objects.requireNonNull(definition, "definition"));
+  }
+
+  /**
+   * Creates an engine sharing the tables and currency texts of given one.
+   */
+  CompiledNumberToWordEngine(CompiledNumberToWordEngine shared) {
+    this.language = shared.language;
+  }
+
+  /**
+   * Phrase tables of a language along with its currency texts in use, and the parser of their
+   * words, compiled on first use.
+   *
+   * <p>Other styles than the default one get phrase tables of their own, compiled once per
+   * language, and currency texts restyled once per tables.
+   */
+  private static final class Tables {
+
+    final LanguageDefinition definition;
+    final CurrencyIndex currencyText;
+    private final ConcurrentMap<RenderOptions, PhraseTable> styledPhrases;
+    private final ConcurrentMap<RenderOptions, Style> styles = new ConcurrentHashMap<>();
+    private volatile PhraseTable phrases;
+    private volatile WordParser parser;
+
+    Tables(LanguageDefinition definition, PhraseTable phrases, CurrencyIndex currencyText,
+        ConcurrentMap<RenderOptions, PhraseTable> styledPhrases) {
+      this.definition = definition;
+      this.phrases = phrases;
+      this.currencyText = currencyText;
+      this.styledPhrases = styledPhrases;
+    }
+
+    /**
+     * returns phrase tables if compiled, else null.
+     */
+    PhraseTable compiledPhrases() {
+      return phrases;
+    }
+
+    PhraseTable phrases() {
+      PhraseTable current = phrases;
+      if (current == null) {
+        // Tables compiled from the same definition are equal, a race only compiles one more.
+        current = new PhraseTable(definition);
+        phrases = current;
+      }
+      return current;
+    }
+
+    WordParser parser() {
+      WordParser current = parser;
+      if (current == null) {
+        current = new WordParser(definition, currencyText);
+        parser = current;
+      }
+      return current;
+    }
+
+    /**
+     * returns phrase tables and currency texts of given style, other than the default one.
+     */
+    Style style(RenderOptions options) {
+      Style style = styles.get(options);
+      if (style == null) {
+        PhraseTable styled = styledPhrases.get(options);
+        if (styled == null) {
+          styled = new PhraseTable(definition.styled(options), options.hasOnlySuffix());
+          PhraseTable raced = styledPhrases.putIfAbsent(options, styled);
+          styled = raced != null ? raced : styled;
+        }
+        // Styles built from the same tables are equal, a race only builds one more.
+        style = new Style(styled, currencyText.styled(options, definition.separator()));
+        styles.put(options, style);
+      }
+      return style;
+    }
+  }
+
+  /**
+   * Phrase tables and currency texts of one style, and the parser of their words, compiled on
+   * first use.
+   */
+  private static final class Style {
+
+    final PhraseTable phrases;
+    final CurrencyIndex currencyText;
+    private volatile WordParser parser;
+
+    Style(PhraseTable phrases, CurrencyIndex currencyText) {
+      this.phrases = phrases;
+      this.currencyText = currencyText;
+    }
+
+    WordParser parser(LanguageDefinition definition, RenderOptions options) {
+      WordParser current = parser;
+      if (current == null) {
+        current = new WordParser(definition.styled(options), currencyText);
+        parser = current;
+      }
+      return current;
+    }
+  }
+
+  /**
+   * Definition of a language and its tables, compiled on first use. Tables are immutable but for
+   * their lazily compiled parts: changing currency texts builds new tables sharing the same
+   * phrases and publishes them with one volatile write, so a conversion, which reads the tables
+   * once, sees either the old texts or the new ones and never takes a lock.
+   */
+  private static final class Language {
+
+    private final LanguageDefinition definition;
+    private final ConcurrentMap<RenderOptions, PhraseTable> styledPhrases =
+        new ConcurrentHashMap<>();
+    private volatile Tables tables;
+
+    Language(LanguageDefinition definition) {
+      this.definition = definition;
+    }
+
+    Tables tables() {
+      Tables current = tables;
+      if (current == null) {
+        synchronized (this) {
+          current = tables;
+          if (current == null) {
+            current = new Tables(definition, null, definition.currencies(), styledPhrases);
+            tables = current;
+          }
+        }
+      }
+      return current;
+    }
+
+    /**
+     * Swaps the currency texts for given ones merged with given additions.
+     *
+     * @param base currency texts to merge the additions with
+     * @param additions currency texts to add or replace, as read by {@link CurrencyTextLoader}
+     */
+    synchronized void setCurrencyText(CurrencyIndex base,
+        Map<String, Map<String, String>> additions) {
+      Tables current = tables();
+      CurrencyIndex currencyText = additions.isEmpty() ? base
+          : CurrencyTexts.merge(base, additions, definition.capitalizeCurrencies());
+      tables = new Tables(definition, current.compiledPhrases(), currencyText, styledPhrases);
+      ConversionCache.invalidate();
+    }
+
+    synchronized void addCurrencyText(Map<String, Map<String, String>> additions) {
+      setCurrencyText(tables().currencyText, additions);
+    }
+  }
+
+  /**
+   * returns definition of the language of this engine.
+   */
+  public LanguageDefinition getDefinition() {
+    return language.definition;
+  }
+
+  /**
+   * Adds currency texts read from given JSON stream, in the format of currency-text-en.json, to
+   * the ones of this language, replacing the texts of currencies already known. Needs
+   * jackson-databind on the class path, see {@link CurrencyTextLoader}.
+   *
+   * <p>Texts are swapped atomically while conversions run: each conversion renders with either
+   * the texts before or after the change, and a stream that is not valid changes nothing.
+   *
+   * @param in stream of currency texts, closed once read
+   * @throws IOException if the stream cannot be read or is not valid
+   */
+  public void addCurrencyText(InputStream in) throws IOException {
+    setCurrencyText(false, in);
+  }
+
+  /**
+   * Adds currency texts read from given JSON file, see {@link #addCurrencyText(InputStream)}.
+   *
+   * @param file currency texts in the format of currency-text-en.json
+   * @throws IOException if the file cannot be read or is not valid
+   */
+  public void addCurrencyText(Path file) throws IOException {
+    addCurrencyText(Files.newInputStream(file));
+  }
+
+  /**
+   * Replaces the currency texts added so far by the ones read from given JSON stream, on top of
+   * the texts of the language definition, e.g. to apply a corrected override file again. Texts
+   * are swapped atomically, as by {@link #addCurrencyText(InputStream)}.
+   *
+   * @param in stream of currency texts, closed once read
+   * @throws IOException if the stream cannot be read or is not valid
+   */
+  public void replaceCurrencyText(InputStream in) throws IOException {
+    setCurrencyText(true, in);
+  }
+
+  /**
+   * Replaces the currency texts added so far by the ones read from given JSON file, see
+   * {@link #replaceCurrencyText(InputStream)}.
+   *
+   * @param file currency texts in the format of currency-text-en.json
+   * @throws IOException if the file cannot be read or is not valid
+   */
+  public void replaceCurrencyText(Path file) throws IOException {
+    replaceCurrencyText(Files.newInputStream(file));
+  }
+
+  /**
+   * Drops the currency texts added so far, back to those of the language definition.
+   */
+  public void resetCurrencyText() {
+    language.setCurrencyText(language.definition.currencies(),
+        Collections.<String, Map<String, String>>emptyMap());
+  }
+
+  private void setCurrencyText(boolean replace, InputStream in) throws IOException {
+    Map<String, Map<String, String>> texts = CurrencyTextLoader.load(in);
+    try {
+      if (replace) {
+        language.setCurrencyText(language.definition.currencies(), texts);
+      } else {
+        language.addCurrencyText(texts);
+      }
+    } catch (IllegalArgumentException e) {
+      // e.g. decimalDigits that are not a number of minor unit digits
+      throw new IOException("Invalid currency texts: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public String getLanguage() {
+    return language.definition.getLanguage();
+  }
+
+  @Override
+  public boolean hasCurrency(String currencyCode) {
+    return language.tables().currencyText.contains(currencyCode);
+  }
+
+  @Override
+  public int getDecimalDigits(String currencyCode) {
+    return language.tables().currencyText.resolve(currencyCode).decimalDigits;
+  }
+
+  @Override
+  public void render(CharSequence number, String currencyCode, StringBuilder out) {
+    int wholeEnd = AmountParser.wholeEnd(number, AmountParser.trimmedLength(number));
+    if (!AmountParser.isBeyondLong(number, 0, wholeEnd)) {
+      render(AmountParser.parseLong(number, 0, wholeEnd), AmountParser.parseFraction(number),
+          currencyCode, out);
+      return;
+    }
+    long fraction = AmountParser.parseFraction(number);
+    Tables tables = language.tables();
+    PhraseTable phrases = tables.phrases();
+    phrases.appendDigits(number, 0, wholeEnd, out);
+    phrases.appendCurrencyText(fraction, tables.currencyText.resolve(currencyCode), out);
+  }
+
+  @Override
+  public void render(long whole, long fraction, String currencyCode, StringBuilder out) {
+    Tables tables = language.tables();
+    CurrencyText currency = tables.currencyText.resolve(currencyCode);
+    PhraseTable phrases = tables.phrases();
+    phrases.appendPrimitive(whole, out);
+    phrases.appendCurrencyText(fraction, currency, out);
+  }
+
+  @Override
+  public void render(BigInteger whole, long fraction, String currencyCode, StringBuilder out) {
+    Tables tables = language.tables();
+    PhraseTable phrases = tables.phrases();
+    appendWords(phrases, whole, out);
+    phrases.appendCurrencyText(fraction, tables.currencyText.resolve(currencyCode), out);
+  }
+
+  @Override
+  public void render(CharSequence number, String currencyCode, ByteBuffer out) {
+    int wholeEnd = AmountParser.wholeEnd(number, AmountParser.trimmedLength(number));
+    if (!AmountParser.isBeyondLong(number, 0, wholeEnd)) {
+      render(AmountParser.parseLong(number, 0, wholeEnd), AmountParser.parseFraction(number),
+          currencyCode, out);
+      return;
+    }
+    Tables tables = language.tables();
+    tables.phrases().appendAmount(number, 0, wholeEnd, AmountParser.parseFraction(number),
+        tables.currencyText.resolve(currencyCode), out);
+  }
+
+  @Override
+  public void render(long whole, long fraction, String currencyCode, ByteBuffer out) {
+    Tables tables = language.tables();
+    CurrencyText currency = tables.currencyText.resolve(currencyCode);
+    PhraseTable phrases = tables.phrases();
+    phrases.appendAmount(whole, fraction, currency, out);
+  }
+
+  @Override
+  public void render(CharSequence number, String currencyCode, RenderOptions options,
+      StringBuilder out) {
+    if (options.isDefault()) {
+      render(number, currencyCode, out);
+      return;
+    }
+    Style style = language.tables().style(options);
+    CurrencyText currency = style.currencyText.resolve(currencyCode);
+    long fraction = AmountParser.parseFraction(number);
+    int wholeEnd = AmountParser.wholeEnd(number, AmountParser.trimmedLength(number));
+    if (AmountParser.isBeyondLong(number, 0, wholeEnd)) {
+      style.phrases.appendDigits(number, 0, wholeEnd, out);
+    } else {
+      style.phrases.appendPrimitive(AmountParser.parseLong(number, 0, wholeEnd), out);
+    }
+    style.phrases.appendCurrencyText(fraction, currency, out);
+  }
+
+  @Override
+  public void render(long whole, long fraction, String currencyCode, RenderOptions options,
+      StringBuilder out) {
+    if (options.isDefault()) {
+      render(whole, fraction, currencyCode, out);
+      return;
+    }
+    Style style = language.tables().style(options);
+    style.phrases.appendPrimitive(whole, out);
+    style.phrases.appendCurrencyText(fraction, style.currencyText.resolve(currencyCode), out);
+  }
+
+  @Override
+  public void render(CharSequence number, String currencyCode, RenderOptions options,
+      ByteBuffer out) {
+    if (options.isDefault()) {
+      render(number, currencyCode, out);
+      return;
+    }
+    Style style = language.tables().style(options);
+    CurrencyText currency = style.currencyText.resolve(currencyCode);
+    long fraction = AmountParser.parseFraction(number);
+    int wholeEnd = AmountParser.wholeEnd(number, AmountParser.trimmedLength(number));
+    if (AmountParser.isBeyondLong(number, 0, wholeEnd)) {
+      style.phrases.appendAmount(number, 0, wholeEnd, fraction, currency, out);
+    } else {
+      style.phrases.appendAmount(AmountParser.parseLong(number, 0, wholeEnd), fraction, currency,
+          out);
+    }
+  }
+
+  /**
+   * Append word representation of an amount parsed and split once for several languages.
+   */
+  void render(AmountGroups amount, String currencyCode, StringBuilder out) {
+    Tables tables = language.tables();
+    tables.phrases().appendAmount(amount, tables.currencyText.resolve(currencyCode), out);
+  }
+
+  /**
+   * Write UTF-8 encoded word representation of an amount parsed and split once for several
+   * languages.
+   */
+  void render(AmountGroups amount, String currencyCode, ByteBuffer out) {
+    Tables tables = language.tables();
+    tables.phrases().appendAmount(amount, tables.currencyText.resolve(currencyCode), out);
+  }
+
+  /**
+   * Reads an amount back from its words in this language, e.g. "Twelve Lacs Thirty Four Thousand
+   * Rupees Fifty Paise Only", ignoring case and tolerating extra whitespace, commas, hyphens and
+   * slashes between words. The words are those rendered by this engine: the whole part, a
+   * currency text, then optionally the fraction part with its currency text, and "Only".
+   *
+   * @param words amount in words
+   * @return whole and fraction parts of the amount and the currencies whose texts are used
+   * @throws NumberFormatException if the words are not an amount of this language or exceed a
+   *     long
+   */
+  public ParsedAmount parse(CharSequence words) {
+    return language.tables().parser().parse(words);
+  }
+
+  /**
+   * Reads an amount back from its words written in given style, see
+   * {@link #parse(CharSequence)}: the separator, tens separator and hundred connector of the style
+   * are read as well.
+   *
+   * @param words amount in words
+   * @param options style in which the words were written
+   * @return whole and fraction parts of the amount and the currencies whose texts are used
+   * @throws NumberFormatException if the words are not an amount of this language in that style
+   *     or exceed a long
+   */
+  public ParsedAmount parse(CharSequence words, RenderOptions options) {
+    if (options.isDefault()) {
+      return parse(words);
+    }
+    Tables tables = language.tables();
+    return tables.style(options).parser(tables.definition, options).parse(words);
+  }
+
+  /**
+   * Append word representation of given nonfriction number to given buffer.
+   */
+  void appendWords(long number, StringBuilder out) {
+    language.tables().phrases().appendPrimitive(number, out);
+  }
+
+  /**
+   * Append word representation of given nonfriction number of any size to given buffer, walking
+   * its digits a chunk at a time.
+   */
+  void appendWords(BigInteger number, StringBuilder out) {
+    appendWords(language.tables().phrases(), number, out);
+  }
+
+  private static void appendWords(PhraseTable phrases, BigInteger number, StringBuilder out) {
+    if (number.bitLength() < Long.SIZE) {
+      phrases.appendPrimitive(number.longValue(), out);
+      return;
+    }
+    String digits = number.toString();
+    phrases.appendDigits(digits, 0, digits.length(), out);
+  }
+
+  /**
+   * returns word representation of the number < 100 (0-99), or empty text when out of range.
+   */
+  String wordBelowHundred(int number) {
+    return language.tables().phrases().wordBelowHundred(number);
+  }
+}
@@ -0,0 +1,360 @@
+package com.dw.num.to.word;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size bounded cache of rendered conversions.
+ *
+ * <p>Entries are keyed on the parsed amount rather than on its text, so "100", "100.0" and
+ * "100.00" share one entry. Lookups are plain {@link ConcurrentHashMap} reads and never wait;
+ * only inserting a missed result takes the cache lock. Eviction is frequency aware: a small
+ * count-min sketch estimates how often every amount is asked for, a clock hand samples a few
+ * resident entries and the least used one is replaced, unless the new amount is used even less
+ * in which case it is not admitted at all.
+ *
+ * <p>The sketch is only updated under the cache lock. Every miss is counted when admitted, but
+ * only one hit in {@value #HIT_SAMPLE_RATE}, and only when the lock is free, so that threads
+ * reading popular entries do not all write to the same counters.
+ *
+ * <p>Keys also hold the generation of the currency texts they were rendered with, bumped whenever
+ * an engine swaps its currency texts: entries of older generations are never hit again and age
+ * out, so a result rendered while texts were being replaced cannot outlive the replacement.
+ */
+final class ConversionCache {
+
+  /**
+   * System property holding maximum number of cached conversions, the cache is disabled when it
+   * is absent or not positive.
+   */
+  static final String MAX_ENTRIES_PROPERTY = "num-to-word.cache.maxEntries";
+
+  /**
+   * Largest number of cached conversions, larger sizes are capped to it.
+   */
+  static final int MAX_ENTRIES = 1 << 20;
+
+  private static final int SAMPLE_SIZE = 4;
+
+  /**
+   * One hit in this many is counted in the sketch, a power of two.
+   */
+  static final int HIT_SAMPLE_RATE = 8;
+
+  /**
+   * Number of slots and map capacity reserved up front, grown by doubling up to the maximum.
+   */
+  private static final int INITIAL_SLOTS = 1024;
+
+  private static volatile ConversionCache current =
+      create(Integer.getInteger(MAX_ENTRIES_PROPERTY, 0));
+
+  private static final AtomicInteger generation = new AtomicInteger();
+
+  private final int maxEntries;
+  private final ConcurrentHashMap<Key, String> entries;
+  private final FrequencySketch sketch;
+  private final ReentrantLock lock = new ReentrantLock();
+  private Key[] slots;
+  private int used;
+  private int hand;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder rejections = new LongAdder();
+
+  private ConversionCache(int maxEntries) {
+    this.maxEntries = maxEntries;
+    int initial = Math.min(maxEntries, INITIAL_SLOTS);
+    this.entries = new ConcurrentHashMap<>(initial * 4 / 3 + 1);
+    this.sketch = new FrequencySketch(initial);
+    this.slots = new Key[initial];
+  }
+
+  private static ConversionCache create(int maxEntries) {
+    return maxEntries > 0 ? new ConversionCache(Math.min(maxEntries, MAX_ENTRIES)) : null;
+  }
+
+  /**
+   * returns cache in use, or null when caching is disabled.
+   */
+  static ConversionCache current() {
+    return current;
+  }
+
+  /**
+   * Replaces cache in use by an empty one holding up to given number of entries.
+   *
+   * @param maxEntries maximum number of cached conversions, 0 to disable caching, capped to
+   *     {@value #MAX_ENTRIES}
+   */
+  static void configure(int maxEntries) {
+    if (maxEntries < 0) {
+      throw new IllegalArgumentException("maxEntries must not be negative: " + maxEntries);
+    }
+    current = create(maxEntries);
+  }
+
+  /**
+   * Stops serving the conversions cached so far, once currency texts of an engine were swapped.
+   * Entries are keyed on the generation read before rendering and engines swap their texts before
+   * calling this, so a key of the new generation always holds words of the new texts.
+   */
+  static void invalidate() {
+    generation.incrementAndGet();
+  }
+
+  /**
+   * returns statistics of the cache in use.
+   */
+  static CacheStats currentStats() {
+    ConversionCache cache = current;
+    if (cache == null) {
+      return new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+    return cache.stats();
+  }
+
+  /**
+   * returns word representation of given number, from the cache when it was already rendered.
+   *
+   * @param number need to represent in to word
+   * @param engine engine rendering the amount
+   * @param currencyCode of currency in which word are use in convert amount in word
+   * @param options style of the words
+   */
+  String numToWord(String number, NumberToWordEngine engine, String currencyCode,
+      RenderOptions options) {
+    int wholeEnd = AmountParser.wholeEnd(number, AmountParser.trimmedLength(number));
+    if (AmountParser.isBeyondLong(number, 0, wholeEnd)) {
+      // Amounts beyond a long are too rare to be worth an entry.
+      StringBuilder sb = new StringBuilder();
+      engine.render(number, currencyCode, options, sb);
+      return sb.toString();
+    }
+    return numToWord(AmountParser.parseLong(number, 0, wholeEnd),
+        AmountParser.parseFraction(number), engine, currencyCode, options);
+  }
+
+  /**
+   * returns word representation of an amount already split in its whole and fraction parts, from
+   * the cache when it was already rendered.
+   *
+   * @param whole whole part of the amount
+   * @param fraction fraction part of the amount, not rendered unless positive
+   * @param engine engine rendering the amount
+   * @param currencyCode of currency in which word are use in convert amount in word
+   * @param options style of the words
+   */
+  String numToWord(long whole, long fraction, NumberToWordEngine engine, String currencyCode,
+      RenderOptions options) {
+    Key key = Key.of(whole, fraction, engine.getLanguage(), currencyCode, options,
+        generation.get());
+    String words = entries.get(key);
+    if (words != null) {
+      hits.increment();
+      if ((ThreadLocalRandom.current().nextInt() & (HIT_SAMPLE_RATE - 1)) == 0
+          && lock.tryLock()) {
+        try {
+          sketch.increment(key.hashCode());
+        } finally {
+          lock.unlock();
+        }
+      }
+      return words;
+    }
+    misses.increment();
+
+    StringBuilder sb = new StringBuilder();
+    engine.render(whole, fraction, currencyCode, options, sb);
+    words = sb.toString();
+    admit(key, words);
+    return words;
+  }
+
+  private void admit(Key key, String words) {
+    lock.lock();
+    try {
+      sketch.increment(key.hashCode());
+      if (entries.containsKey(key)) {
+        return;
+      }
+      if (used < maxEntries) {
+        if (used == slots.length) {
+          slots = Arrays.copyOf(slots, Math.min(maxEntries, slots.length * 2));
+          sketch.ensureCapacity(slots.length);
+        }
+        slots[used++] = key;
+        entries.put(key, words);
+        return;
+      }
+
+      int victim = hand;
+      int victimFrequency = Integer.MAX_VALUE;
+      for (int i = 0; i < SAMPLE_SIZE && i < maxEntries; i++) {
+        int slot = (hand + i) % maxEntries;
+        int frequency = sketch.frequency(slots[slot].hashCode());
+        if (frequency < victimFrequency) {
+          victim = slot;
+          victimFrequency = frequency;
+        }
+      }
+      hand = (hand + SAMPLE_SIZE) % maxEntries;
+
+      if (sketch.frequency(key.hashCode()) <= victimFrequency) {
+        rejections.increment();
+        return;
+      }
+      entries.remove(slots[victim]);
+      slots[victim] = key;
+      entries.put(key, words);
+      evictions.increment();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  CacheStats stats() {
+    return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), rejections.sum(),
+        entries.size(), maxEntries);
+  }
+
+  /**
+   * Cache key: the amount as the engines parse it, plus language of the engine, currency, style
+   * and generation of the currency texts.
+   */
+  private static final class Key {
+
+    private final long whole;
+    private final long fraction;
+    private final String language;
+    private final String currencyCode;
+    private final RenderOptions options;
+    private final int generation;
+    private final int hash;
+
+    private Key(long whole, long fraction, String language, String currencyCode,
+        RenderOptions options, int generation) {
+      this.whole = whole;
+      this.fraction = fraction;
+      this.language = language;
+      this.currencyCode = currencyCode;
+      this.options = options;
+      this.generation = generation;
+      int result = Long.hashCode(whole);
+      result = 31 * result + Long.hashCode(fraction);
+      result = 31 * result + language.hashCode();
+      result = 31 * result + (currencyCode == null ? 0 : currencyCode.hashCode());
+      result = 31 * result + options.hashCode();
+      this.hash = 31 * result + generation;
+    }
+
+    static Key of(long whole, long fraction, String language, String currencyCode,
+        RenderOptions options, int generation) {
+      // Fractions that are not positive are not rendered, they share the entry of 0.
+      return new Key(whole, Math.max(0, fraction), language,
+          StringUtils.isBlank(currencyCode) ? null : currencyCode, options, generation);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return whole == other.whole && fraction == other.fraction
+          && generation == other.generation && language.equals(other.language)
+          && options.equals(other.options)
+          && (currencyCode == null ? other.currencyCode == null
+              : currencyCode.equals(other.currencyCode));
+    }
+  }
+
+  /**
+   * Approximate access counts of recently used keys, in a count-min sketch of four rows whose
+   * counters saturate at 15 and are halved periodically so that old popularity fades out. The
+   * counters take four bits each, sixteen to a long. Not thread safe, guarded by the cache lock.
+   */
+  private static final class FrequencySketch {
+
+    private static final int[] SEEDS = {0x97cb3127, 0xb7c4bb09, 0x9e3779b9, 0x85ebca6b};
+    private static final long COUNTER = 0xfL;
+    private static final long HALF_COUNTERS = 0x7777777777777777L;
+
+    private long[] table;
+    private int mask;
+    private int resetAt;
+    private int additions;
+
+    FrequencySketch(int capacity) {
+      ensureCapacity(capacity);
+    }
+
+    /**
+     * Sizes the sketch for given number of entries, four counters per entry. Growing it drops the
+     * counts so far, which only happens while the cache fills up and admits every miss anyway.
+     */
+    void ensureCapacity(int capacity) {
+      // A power of two of longs, at least 64 counters
+      int length = Math.max(4, Integer.highestOneBit(Math.max(1, capacity / 4) - 1) << 1);
+      if (table != null && table.length >= length) {
+        return;
+      }
+      this.table = new long[length];
+      this.mask = length * 16 - 1;
+      this.resetAt = Math.max(160, capacity * 10);
+      this.additions = 0;
+    }
+
+    void increment(int hash) {
+      for (int i = 0; i < SEEDS.length; i++) {
+        int index = indexOf(hash, i);
+        if (count(index) != COUNTER) {
+          table[index >>> 4] += 1L << ((index & 15) << 2);
+        }
+      }
+      if (++additions >= resetAt) {
+        reset();
+      }
+    }
+
+    int frequency(int hash) {
+      int frequency = (int) COUNTER;
+      for (int i = 0; i < SEEDS.length; i++) {
+        frequency = Math.min(frequency, (int) count(indexOf(hash, i)));
+      }
+      return frequency;
+    }
+
+    private void reset() {
+      additions = 0;
+      for (int i = 0; i < table.length; i++) {
+        table[i] = table[i] >>> 1 & HALF_COUNTERS;
+      }
+    }
+
+    private long count(int index) {
+      return table[index >>> 4] >>> ((index & 15) << 2) & COUNTER;
+    }
+
+    private int indexOf(int hash, int row) {
+      int spread = (hash ^ (hash >>> 16)) * SEEDS[row];
+      return (spread ^ (spread >>> 15)) & mask;
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package com.dw.num.to.word;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in counters of the conversions made through {@link NumberToWord}, broken down by language
+ * and currency.
+ *
+ * <p>Nothing is recorded unless metrics are enabled: callers read {@link #current()} once and skip
+ * measuring when it is null, which is all the cost of disabled metrics. Enabled, each conversion
+ * resolves its series with two map reads and records into striped {@link LongAdder} counters and a
+ * {@link LatencyHistogram}, so threads do not contend and nothing is locked.
+ *
+ * <p>Series are keyed on the language of the engine doing the conversion and on the currency
+ * code when the engine knows it. Unknown codes share the {@link #UNKNOWN_CURRENCY} series, so
+ * arbitrary input cannot grow the number of series.
+ */
+final class ConversionMetrics {
+
+  /**
+   * System property enabling metrics from startup when set to true.
+   */
+  static final String ENABLED_PROPERTY = "num-to-word.metrics.enabled";
+
+  /**
+   * Currency of the series of conversions made without currency code, in Rupees/Paise.
+   */
+  static final String NO_CURRENCY = "";
+
+  /**
+   * Currency of the series of conversions whose currency code is unknown to the engine, which
+   * silently fall back to Rupees/Paise.
+   */
+  static final String UNKNOWN_CURRENCY = "?";
+
+  private static volatile ConversionMetrics current;
+
+  static {
+    if (Boolean.getBoolean(ENABLED_PROPERTY)) {
+      setEnabled(true);
+    }
+  }
+
+  private final ConcurrentHashMap<String, ConcurrentHashMap<String, Series>> series =
+      new ConcurrentHashMap<>();
+  private final LongAdder languageFallbacks = new LongAdder();
+
+  private ConversionMetrics() {}
+
+  /**
+   * returns metrics being recorded, or null when metrics are disabled.
+   */
+  static ConversionMetrics current() {
+    return current;
+  }
+
+  /**
+   * Enables or disables metrics. Enabling starts from zero counters and registers the
+   * {@link NumberToWordMetricsBean}; disabling drops the counters.
+   *
+   * @param enabled whether conversions are measured
+   */
+  static synchronized void setEnabled(boolean enabled) {
+    if (!enabled) {
+      current = null;
+      return;
+    }
+    if (current == null) {
+      current = new ConversionMetrics();
+    }
+    NumberToWordMetrics.register();
+  }
+
+  /**
+   * Drops counters recorded so far, when metrics are enabled.
+   */
+  static synchronized void reset() {
+    if (current != null) {
+      current = new ConversionMetrics();
+    }
+  }
+
+  /**
+   * returns snapshot of the metrics being recorded, empty when metrics are disabled.
+   */
+  static MetricsSnapshot currentSnapshot() {
+    ConversionMetrics metrics = current;
+    if (metrics == null) {
+      return new MetricsSnapshot(false, new ArrayList<>(), 0);
+    }
+    return metrics.snapshot();
+  }
+
+  /**
+   * Conversion measured by {@link #measure(String, String, Conversion)}.
+   */
+  interface Conversion {
+    String convert(NumberToWordEngine engine);
+  }
+
+  /**
+   * Runs given conversion with the engine of given language and records it.
+   *
+   * @param language code of language in which number need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word
+   * @param conversion conversion to run and measure
+   * @return words returned by the conversion
+   */
+  String measure(String language, String currencyCode, Conversion conversion) {
+    NumberToWordEngine engine = NumberToWordEngines.get(language);
+    if (engine == null) {
+      languageFallbacks.increment();
+      engine = NumberToWordEngines.getOrDefault(null);
+    }
+    Series target = series(engine, currencyCode);
+    target.calls.increment();
+    long start = System.nanoTime();
+    boolean converted = false;
+    try {
+      String words = conversion.convert(engine);
+      converted = true;
+      return words;
+    } finally {
+      // Every call ends up either as a failure or as a latency sample, whatever it threw.
+      if (converted) {
+        target.latency.record(System.nanoTime() - start);
+      } else {
+        target.failures.increment();
+      }
+    }
+  }
+
+  private Series series(NumberToWordEngine engine, String currencyCode) {
+    String language = engine.getLanguage();
+    ConcurrentHashMap<String, Series> byCurrency = series.get(language);
+    if (byCurrency == null) {
+      byCurrency = series.computeIfAbsent(language, key -> new ConcurrentHashMap<>());
+    }
+    String currency;
+    if (currencyCode == null || currencyCode.trim().isEmpty()) {
+      currency = NO_CURRENCY;
+    } else if (engine.hasCurrency(currencyCode)) {
+      currency = currencyCode;
+    } else {
+      currency = UNKNOWN_CURRENCY;
+    }
+    Series target = byCurrency.get(currency);
+    if (target == null) {
+      target = byCurrency.computeIfAbsent(currency, key -> new Series());
+    }
+    return target;
+  }
+
+  private MetricsSnapshot snapshot() {
+    List<MetricsSnapshot.Series> snapshots = new ArrayList<>();
+    for (Map.Entry<String, ConcurrentHashMap<String, Series>> language : series.entrySet()) {
+      for (Map.Entry<String, Series> currency : language.getValue().entrySet()) {
+        Series value = currency.getValue();
+        snapshots.add(new MetricsSnapshot.Series(language.getKey(), currency.getKey(),
+            value.calls.sum(), value.failures.sum(), value.latency.totalNanos(),
+            value.latency.counts()));
+      }
+    }
+    return new MetricsSnapshot(true, snapshots, languageFallbacks.sum());
+  }
+
+  /**
+   * Counters of one language and currency.
+   */
+  private static final class Series {
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+  }
+}
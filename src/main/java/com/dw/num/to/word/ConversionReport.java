@@ -0,0 +1,88 @@
+package com.dw.num.to.word;
+
+import java.util.Locale;
+
+/**
+ * Outcome of an {@link AmountFileConverter} run.
+ */
+public final class ConversionReport {
+
+  private static final double NANOS_PER_SECOND = 1e9;
+  private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+  private final long rows;
+  private final long failedRows;
+  private final long bytesRead;
+  private final long bytesWritten;
+  private final long elapsedNanos;
+
+  ConversionReport(long rows, long failedRows, long bytesRead, long bytesWritten,
+      long elapsedNanos) {
+    this.rows = rows;
+    this.failedRows = failedRows;
+    this.bytesRead = bytesRead;
+    this.bytesWritten = bytesWritten;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * returns number of data rows read, header excluded.
+   */
+  public long getRows() {
+    return rows;
+  }
+
+  /**
+   * returns number of rows whose amount could not be parsed; their words column is left empty.
+   */
+  public long getFailedRows() {
+    return failedRows;
+  }
+
+  /**
+   * returns size of the input, in bytes.
+   */
+  public long getBytesRead() {
+    return bytesRead;
+  }
+
+  /**
+   * returns size of the output, in bytes.
+   */
+  public long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  /**
+   * returns wall clock duration of the run, in nanoseconds.
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * returns input throughput, in megabytes per second.
+   */
+  public double getMegabytesPerSecond() {
+    return bytesRead / BYTES_PER_MEGABYTE / seconds();
+  }
+
+  /**
+   * returns number of rows converted per second.
+   */
+  public double getRowsPerSecond() {
+    return rows / seconds();
+  }
+
+  private double seconds() {
+    return Math.max(1, elapsedNanos) / NANOS_PER_SECOND;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(Locale.ROOT,
+        "%d rows (%d failed), %d bytes read, %d bytes written in %.3f s: %.1f MB/s, %.0f rows/s",
+        rows, failedRows, bytesRead, bytesWritten, seconds(), getMegabytesPerSecond(),
+        getRowsPerSecond());
+  }
+}
@@ -0,0 +1,112 @@
+package com.dw.num.to.word;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable index of the currency texts of one language.
+ *
+ * <p>ISO 4217 codes, three upper case letters, are packed into an int between 0 and 26^3 which
+ * directly indexes a dense array, so resolving a currency costs a few arithmetic operations and
+ * one array read, without hashing the code or allocating. Codes of any other shape, which can
+ * only come from currency texts loaded at runtime, fall back to a map.
+ */
+final class CurrencyIndex {
+
+  private static final int LETTERS = 26;
+  private static final int CODE_LENGTH = 3;
+
+  private final CurrencyText fallback;
+  private final Map<String, CurrencyText> entries;
+  private final CurrencyText[] byCode = new CurrencyText[LETTERS * LETTERS * LETTERS];
+  private final Map<String, CurrencyText> otherCodes = new HashMap<>();
+
+  /**
+   * Builds the index of given currency texts.
+   *
+   * @param entries currency texts keyed on currency code, blank codes are ignored
+   * @param fallback texts used for unknown or missing currency codes, i.e. Rupees/Paise
+   */
+  CurrencyIndex(Map<String, CurrencyText> entries, CurrencyText fallback) {
+    this.fallback = fallback;
+    this.entries = Collections.unmodifiableMap(new HashMap<>(entries));
+    for (Map.Entry<String, CurrencyText> entry : this.entries.entrySet()) {
+      String code = entry.getKey();
+      int key = pack(code);
+      if (key >= 0) {
+        byCode[key] = entry.getValue();
+      } else if (code.trim().length() > 0) {
+        otherCodes.put(code, entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * returns index of given code in the dense array, or -1 when it is not three upper case letters.
+   */
+  static int pack(String code) {
+    if (code.length() != CODE_LENGTH) {
+      return -1;
+    }
+    int first = code.charAt(0) - 'A';
+    int second = code.charAt(1) - 'A';
+    int third = code.charAt(2) - 'A';
+    int last = LETTERS - 1;
+    if ((first | second | third | (last - first) | (last - second) | (last - third)) < 0) {
+      return -1;
+    }
+    return (first * LETTERS + second) * LETTERS + third;
+  }
+
+  /**
+   * returns texts of given currency, or the fallback texts when the code is null, blank or unknown.
+   *
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   */
+  CurrencyText resolve(String currencyCode) {
+    if (currencyCode == null) {
+      return fallback;
+    }
+    int key = pack(currencyCode);
+    CurrencyText texts = key >= 0 ? byCode[key] : otherCodes.get(currencyCode);
+    return texts != null ? texts : fallback;
+  }
+
+  /**
+   * returns whether given currency has texts of its own, rather than the fallback ones.
+   *
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   */
+  boolean contains(String currencyCode) {
+    return resolve(currencyCode) != fallback;
+  }
+
+  /**
+   * returns a new index holding the texts of this one in the style of given options.
+   *
+   * @param options style of the texts
+   * @param languageSeparator text between words of the language of the texts
+   */
+  CurrencyIndex styled(RenderOptions options, String languageSeparator) {
+    Map<String, CurrencyText> styled = new HashMap<>(entries.size() * 4 / 3 + 1);
+    for (Map.Entry<String, CurrencyText> entry : entries.entrySet()) {
+      styled.put(entry.getKey(), entry.getValue().styled(options, languageSeparator));
+    }
+    return new CurrencyIndex(styled, fallback.styled(options, languageSeparator));
+  }
+
+  /**
+   * returns texts used for unknown or missing currency codes.
+   */
+  CurrencyText fallback() {
+    return fallback;
+  }
+
+  /**
+   * returns currency texts of this index keyed on currency code, as an unmodifiable map.
+   */
+  Map<String, CurrencyText> entries() {
+    return entries;
+  }
+}
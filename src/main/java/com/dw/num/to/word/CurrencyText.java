@@ -0,0 +1,94 @@
+package com.dw.num.to.word;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Texts of one currency in one language, in their final form: capitalized once when the language
+ * asks for it, and also encoded to UTF-8 so that byte output does not encode them on every
+ * conversion. Also holds the number of digits of the minor unit of the currency.
+ */
+final class CurrencyText {
+
+  /**
+   * Minor unit digits of currencies that do not tell theirs, as for Rupees/Paise.
+   */
+  static final int DEFAULT_DECIMAL_DIGITS = 2;
+
+  /**
+   * Text of the whole part, as written.
+   */
+  final String wholeValText;
+  /**
+   * Text of the fraction part as written, null when the text is blank and must not be written.
+   */
+  final String decimalValText;
+  final byte[] wholeValUtf8;
+  /**
+   * UTF-8 encoding of the decimal text, null when the text is blank and must not be written.
+   */
+  final byte[] decimalValUtf8;
+  /**
+   * Number of digits of the minor unit as of ISO 4217, e.g. 2 for paise, 0 for yen.
+   */
+  final int decimalDigits;
+
+  /**
+   * Creates the texts of a currency.
+   *
+   * @param wholeValText text of the whole part, e.g. Rupees
+   * @param decimalValText text of the fraction part, e.g. Paise
+   * @param decimalDigits number of digits of the minor unit
+   * @param capitalize whether the texts get each word capitalized
+   */
+  CurrencyText(String wholeValText, String decimalValText, int decimalDigits,
+      boolean capitalize) {
+    if (decimalDigits < 0 || decimalDigits > MinorUnits.MAX_DIGITS) {
+      throw new IllegalArgumentException("Unsupported decimalDigits: " + decimalDigits);
+    }
+    this.wholeValText = text(wholeValText, capitalize);
+    this.decimalValText =
+        StringUtils.isNotBlank(decimalValText) ? text(decimalValText, capitalize) : null;
+    this.decimalDigits = decimalDigits;
+    this.wholeValUtf8 = this.wholeValText.getBytes(StandardCharsets.UTF_8);
+    this.decimalValUtf8 = this.decimalValText != null
+        ? this.decimalValText.getBytes(StandardCharsets.UTF_8) : null;
+  }
+
+  /**
+   * returns these texts in the style of given options.
+   *
+   * @param options style of the texts
+   * @param languageSeparator text between words of the language of the texts
+   */
+  CurrencyText styled(RenderOptions options, String languageSeparator) {
+    return new CurrencyText(options.style(wholeValText, languageSeparator),
+        options.style(decimalValText, languageSeparator), decimalDigits, false);
+  }
+
+  /**
+   * returns given text, each whitespace separated word capitalized the way
+   * {@code WordUtils.capitalize(String)} does when asked to, or "null" when null.
+   */
+  private static String text(String text, boolean capitalize) {
+    if (!capitalize || text == null) {
+      return String.valueOf(text);
+    }
+    StringBuilder sb = new StringBuilder(text.length());
+    boolean capitalizeNext = true;
+    for (int i = 0; i < text.length(); i++) {
+      char ch = text.charAt(i);
+      if (Character.isWhitespace(ch)) {
+        sb.append(ch);
+        capitalizeNext = true;
+      } else if (capitalizeNext) {
+        sb.append(Character.toTitleCase(ch));
+        capitalizeNext = false;
+      } else {
+        sb.append(ch);
+      }
+    }
+    return sb.toString();
+  }
+}
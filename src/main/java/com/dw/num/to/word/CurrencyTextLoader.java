@@ -0,0 +1,37 @@
+package com.dw.num.to.word;
+
+import com.fasterxml.jackson.core.JsonParser.Feature;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads user supplied currency text files, in the format of the bundled
+ * {@code currency-text-en.json}.
+ *
+ * <p>The bundled files are compiled into Java tables at build time, so this loader is only needed
+ * for custom files. It requires {@code jackson-databind}, which is an optional dependency of this
+ * library.
+ */
+public final class CurrencyTextLoader {
+
+  private CurrencyTextLoader() {}
+
+  /**
+   * Reads currency texts from given JSON stream, and closes it.
+   *
+   * @param in stream of a JSON object mapping currency codes to their wholeValText and
+   *        decimalValText
+   * @return currency texts keyed on currency code
+   * @throws IOException if the stream cannot be read or is not valid
+   */
+  public static Map<String, Map<String, String>> load(InputStream in) throws IOException {
+    ObjectMapper objectMapper = new ObjectMapper();
+    objectMapper.configure(Feature.AUTO_CLOSE_SOURCE, true);
+    return objectMapper.readValue(in, new TypeReference<HashMap<String, Map<String, String>>>() {});
+  }
+}
@@ -0,0 +1,146 @@
+package com.dw.num.to.word;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies a currency text file to an engine again whenever it changes, so that a corrected
+ * currency name goes live without a redeploy.
+ *
+ * <pre>
+ * CompiledNumberToWordEngine engine = (CompiledNumberToWordEngine) NumberToWordEngines.get("en");
+ * CurrencyTextWatcher watcher = CurrencyTextWatcher.watch(engine, Paths.get("currency-en.json"));
+ * ...
+ * watcher.close();
+ * </pre>
+ *
+ * <p>The file is read with {@link CompiledNumberToWordEngine#replaceCurrencyText(Path)} when
+ * watching starts and on every change seen by a {@link WatchService} on its directory, from a
+ * daemon thread. Conversions keep running meanwhile on the texts in use, which are swapped
+ * atomically. A change that cannot be read or is not valid keeps the texts in use and is counted
+ * as a failure; write the new file next to the old one and move it in place to never read a half
+ * written one.
+ */
+public final class CurrencyTextWatcher implements Closeable {
+
+  private final CompiledNumberToWordEngine engine;
+  private final Path file;
+  private final WatchService watchService;
+  private final Thread thread;
+  private final AtomicLong reloads = new AtomicLong();
+  private final AtomicLong failures = new AtomicLong();
+  private volatile Exception lastFailure;
+
+  private CurrencyTextWatcher(CompiledNumberToWordEngine engine, Path file,
+      WatchService watchService) {
+    this.engine = engine;
+    this.file = file;
+    this.watchService = watchService;
+    this.thread = new Thread(this::run,
+        "num-to-word-currency-text-" + engine.getLanguage() + "-watcher");
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * Applies given currency text file to given engine, then again whenever it changes.
+   *
+   * @param engine engine of the language of the texts
+   * @param file currency texts in the format of currency-text-en.json
+   * @return the watcher, to close once the file needs no more watching
+   * @throws IOException if the file cannot be read or is not valid, or its directory cannot be
+   *     watched
+   */
+  public static CurrencyTextWatcher watch(CompiledNumberToWordEngine engine, Path file)
+      throws IOException {
+    Path absolute = file.toAbsolutePath();
+    WatchService watchService = FileSystems.getDefault().newWatchService();
+    try {
+      // Registered first, so that a change made while the file is read is not missed.
+      absolute.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+          StandardWatchEventKinds.ENTRY_MODIFY);
+      engine.replaceCurrencyText(absolute);
+    } catch (IOException | RuntimeException e) {
+      watchService.close();
+      throw e;
+    }
+    CurrencyTextWatcher watcher = new CurrencyTextWatcher(engine, absolute, watchService);
+    watcher.thread.start();
+    return watcher;
+  }
+
+  private void run() {
+    try {
+      while (true) {
+        WatchKey key = watchService.take();
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+          changed |= event.kind() == StandardWatchEventKinds.OVERFLOW
+              || file.getFileName().equals(event.context());
+        }
+        if (changed) {
+          reload();
+        }
+        if (!key.reset()) {
+          return;
+        }
+      }
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      // closed, the thread ends
+    }
+  }
+
+  private void reload() {
+    try {
+      engine.replaceCurrencyText(file);
+      reloads.incrementAndGet();
+    } catch (IOException | RuntimeException e) {
+      lastFailure = e;
+      failures.incrementAndGet();
+    }
+  }
+
+  /**
+   * returns the watched file.
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * returns number of changes of the file applied since watching started.
+   */
+  public long getReloadCount() {
+    return reloads.get();
+  }
+
+  /**
+   * returns number of changes of the file that could not be applied, the texts in use being kept.
+   */
+  public long getFailureCount() {
+    return failures.get();
+  }
+
+  /**
+   * returns why the last change that could not be applied failed, or null if none failed.
+   */
+  public Exception getLastFailure() {
+    return lastFailure;
+  }
+
+  /**
+   * Stops watching the file. The texts in use stay.
+   */
+  @Override
+  public void close() throws IOException {
+    // Ends the wait of the thread for changes.
+    watchService.close();
+  }
+}
@@ -0,0 +1,68 @@
+package com.dw.num.to.word;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the currency text indexes of the engines from the tables generated at build time.
+ */
+final class CurrencyTexts {
+
+  static final String WHOLE_VAL_TEXT = "wholeValText";
+  static final String DECIMAL_VAL_TEXT = "decimalValText";
+  static final String DECIMAL_DIGITS = "decimalDigits";
+
+  private CurrencyTexts() {}
+
+  /**
+   * returns index of the currency texts built from given parallel tables.
+   *
+   * @param fallback texts used for unknown or missing currency codes
+   * @param codes currency codes
+   * @param wholeValTexts text of the whole part of each currency
+   * @param decimalValTexts text of the fraction part of each currency
+   * @param decimalDigits number of minor unit digits of each currency
+   * @param capitalize whether the encoded texts get each word capitalized
+   */
+  static CurrencyIndex fromTables(CurrencyText fallback, String[] codes, String[] wholeValTexts,
+      String[] decimalValTexts, int[] decimalDigits, boolean capitalize) {
+    Map<String, CurrencyText> currencyText = new HashMap<>(codes.length * 4 / 3 + 1);
+    for (int i = 0; i < codes.length; i++) {
+      currencyText.put(codes[i], new CurrencyText(wholeValTexts[i], decimalValTexts[i],
+          decimalDigits[i], capitalize));
+    }
+    return new CurrencyIndex(currencyText, fallback);
+  }
+
+  /**
+   * returns a new index holding given currency texts, overridden by the given additional ones.
+   * Additions without any text are ignored, those currencies keep falling back to Rupees/Paise.
+   * Additions without decimalDigits keep those of the currency they replace, if any.
+   *
+   * @param currencyText currency texts in use
+   * @param additions currency texts to add or replace, as read by {@link CurrencyTextLoader}
+   * @param capitalize whether the encoded texts get each word capitalized
+   */
+  static CurrencyIndex merge(CurrencyIndex currencyText,
+      Map<String, Map<String, String>> additions, boolean capitalize) {
+    Map<String, CurrencyText> merged = new HashMap<>(currencyText.entries());
+    for (Map.Entry<String, Map<String, String>> entry : additions.entrySet()) {
+      Map<String, String> texts = entry.getValue();
+      if (texts != null && !texts.isEmpty()) {
+        CurrencyText previous = merged.get(entry.getKey());
+        String digits = texts.get(DECIMAL_DIGITS);
+        int decimalDigits;
+        if (digits != null) {
+          decimalDigits = Integer.parseInt(digits.trim());
+        } else if (previous != null) {
+          decimalDigits = previous.decimalDigits;
+        } else {
+          decimalDigits = CurrencyText.DEFAULT_DECIMAL_DIGITS;
+        }
+        merged.put(entry.getKey(), new CurrencyText(texts.get(WHOLE_VAL_TEXT),
+            texts.get(DECIMAL_VAL_TEXT), decimalDigits, capitalize));
+      }
+    }
+    return new CurrencyIndex(merged, currencyText.fallback());
+  }
+}
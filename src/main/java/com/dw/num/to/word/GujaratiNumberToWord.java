@@ -1,16 +1,11 @@
 package com.dw.num.to.word;
 
-import com.fasterxml.jackson.core.JsonParser.Feature;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-import org.apache.commons.lang3.StringUtils;
-
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Map;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
-public class GujaratiNumberToWord {
+public class GujaratiNumberToWord extends CompiledNumberToWordEngine {
 
   private static final String[] TEXT_ONE_TO_NINETYNINE =
       {"શૂન્ય", "એક", "બે", "ત્રણ", "ચાર", "પાંચ", "છ", "સાત", "આઠ", "નવ", "દસ", "અગિયાર", "બાર",
@@ -25,32 +20,50 @@ public class GujaratiNumberToWord {
           "ચોર્યાસી", "પંચાસી", "છ્યાસી", "સિત્યાસી", "ઈઠ્યાસી", "નેવ્યાસી", "નેવું", "એકાણું",
           "બાણું", "ત્રાણુ", "ચોરાણું", "પંચાણું", "છન્નું", "સત્તાણું", "અઠ્ઠાણું", "નવ્વાણું"};
   private static final String[] TEXT_UNITS_IN_WORDS = {"કરોડ઼", "લાખ", "હજાર", "સો"};
-  private static final long[] UNITS_IN_NUMBER = {10000000, 100000, 1000, 100};
 
+  public static final String LANGUAGE = "gu";
   public static final String TEXT_RUPEES = "રૂપિયા";
   public static final String TEXT_PAISE = "પૈસા";
   public static final String TEXT_ONLY = "કેવળ";
   public static final String SPACE = " ";
   public static final String TEXT_TWO_HUNDRED = "બસ્સો";
-  private static final String DECIMAL_VAL_TEXT = "decimalValText";
-  private static final String WHOLE_VAL_TEXT = "wholeValText";
 
-  private static final String FILE_PATH = "currency-text-gu.json";
-  private static Map<String, Map<String, String>> currencyText = new HashMap<>();
+  private static final LanguageDefinition DEFINITION = LanguageDefinition.builder(LANGUAGE)
+      .belowHundred(TEXT_ONE_TO_NINETYNINE)
+      .irregularHundred(2, TEXT_TWO_HUNDRED)
+      .hundred(TEXT_UNITS_IN_WORDS[3])
+      .scales(TEXT_UNITS_IN_WORDS[2], TEXT_UNITS_IN_WORDS[1], TEXT_UNITS_IN_WORDS[0])
+      .separator(SPACE)
+      .currency(TEXT_RUPEES, TEXT_PAISE)
+      .only(TEXT_ONLY)
+      .currencies(CurrencyTextGu.CODES, CurrencyTextGu.WHOLE_VAL_TEXTS,
+          CurrencyTextGu.DECIMAL_VAL_TEXTS, CurrencyTextGu.DECIMAL_DIGITS)
+      .capitalizeCurrencies(false)
+      .build();
 
-  static {
-    InputStream in = GujaratiNumberToWord.class.getClassLoader().getResourceAsStream(FILE_PATH);
+  /**
+   * Engine behind the static methods, sharing its tables with every instance.
+   */
+  private static final CompiledNumberToWordEngine ENGINE =
+      new CompiledNumberToWordEngine(DEFINITION);
 
-    ObjectMapper objectMapper = new ObjectMapper();
-    objectMapper.configure(Feature.AUTO_CLOSE_SOURCE, true);
+  /**
+   * Creates the engine, its tables are compiled on the first conversion.
+   */
+  public GujaratiNumberToWord() {
+    super(ENGINE);
+  }
 
-    try {
-      currencyText =
-          objectMapper.readValue(in, new TypeReference<HashMap<String, Map<String, String>>>() {});
-      System.out.println("GujaratiNumberToWord :: Currency text loaded.");
-    } catch (Exception e) {
-      e.printStackTrace();
-    }
+  /**
+   * Adds currency texts read from given JSON stream, in the format of currency-text-gu.json, to
+   * the ones of this language, replacing the texts of currencies already known. Needs
+   * jackson-databind on the class path, see {@link CurrencyTextLoader}.
+   * 
+   * @param in stream of currency texts, closed once read
+   * @throws IOException if the stream cannot be read or is not valid
+   */
+  public static void loadCurrencyText(InputStream in) throws IOException {
+    ENGINE.addCurrencyText(in);
   }
 
   /**
@@ -59,7 +72,9 @@ public class GujaratiNumberToWord {
    * @param number need to represent in word
    */
   public static String getNumberToWord(String number) {
-    return getNumberToWord(number, TEXT_RUPEES, TEXT_PAISE);
+    StringBuilder sb = new StringBuilder();
+    appendNumberToWord(number, sb);
+    return sb.toString();
   }
 
   /**
@@ -68,42 +83,88 @@ public class GujaratiNumberToWord {
    * @param number need to represent in word
    */
   public static String getNumberToWord(String number, String currencyCode) {
-    if (StringUtils.isBlank(currencyCode)) {
-      return getNumberToWord(number);
-    }
-    Map<String, String> texts = currencyText.get(currencyCode);
-    if (texts == null || texts.size() == 0) {
-      return getNumberToWord(number);
-    }
+    StringBuilder sb = new StringBuilder();
+    appendNumberToWord(number, currencyCode, sb);
+    return sb.toString();
+  }
 
-    return getNumberToWord(number, texts.get(WHOLE_VAL_TEXT), texts.get(DECIMAL_VAL_TEXT));
+  /**
+   * Append word representation of given friction number to given buffer.
+   * 
+   * @param number need to represent in word
+   * @param out buffer to which word representation is appended
+   */
+  public static void appendNumberToWord(CharSequence number, StringBuilder out) {
+    appendNumberToWord(number, null, out);
   }
 
-  private static String getNumberToWord(String number, String rupeesText, String paiseText) {
-    String[] parts = number.split("\\.");
-    long primitive = Long.parseLong(parts[0]);
-    StringBuilder sb = new StringBuilder();
-    sb.append(getWordRepresentationForPrimitive(primitive));
-    sb.append(" ");
-    sb.append(rupeesText);
-    if (parts.length == 2) {
-      long fraction = Long.parseLong(parts[1]);
-      if (fraction > 0) {
-        if (sb.length() > 0) {
-          sb.append(SPACE);
-        }
-
-        // Write fraction part
-        sb.append(getWordRepresentationForPrimitive(fraction));
-        if (StringUtils.isNotBlank(paiseText)) {
-          sb.append(SPACE);
-          sb.append(paiseText);
-        }
-      }
-    }
-    sb.append(SPACE);
-    sb.append(TEXT_ONLY);
-    return sb.toString();
+  /**
+   * Append word representation of given friction number in given currencyCode to given buffer.
+   * 
+   * @param number need to represent in word
+   * @param currencyCode of currency in which word are use in convert amount in word
+   * @param out buffer to which word representation is appended
+   */
+  public static void appendNumberToWord(CharSequence number, String currencyCode,
+      StringBuilder out) {
+    ENGINE.render(number, currencyCode, out);
+  }
+
+  /**
+   * Append word representation of an amount already split in its whole and fraction parts, in
+   * given currencyCode, to given buffer.
+   * 
+   * @param primitive whole part of the amount
+   * @param fraction fraction part of the amount, not rendered unless positive
+   * @param currencyCode of currency in which word are use in convert amount in word
+   * @param out buffer to which word representation is appended
+   */
+  public static void appendNumberToWord(long primitive, long fraction, String currencyCode,
+      StringBuilder out) {
+    ENGINE.render(primitive, fraction, currencyCode, out);
+  }
+
+  /**
+   * Append word representation of an amount whose whole part may exceed a long, in given
+   * currencyCode, to given buffer.
+   * 
+   * @param primitive whole part of the amount, of any size
+   * @param fraction fraction part of the amount, not rendered unless positive
+   * @param currencyCode of currency in which word are use in convert amount in word
+   * @param out buffer to which word representation is appended
+   */
+  public static void appendNumberToWord(BigInteger primitive, long fraction, String currencyCode,
+      StringBuilder out) {
+    ENGINE.render(primitive, fraction, currencyCode, out);
+  }
+
+  /**
+   * Write UTF-8 encoded word representation of given friction number in given currencyCode to
+   * given buffer, from words encoded once when the engine is loaded.
+   * 
+   * @param number need to represent in word
+   * @param currencyCode of currency in which word are use in convert amount in word
+   * @param out buffer to which encoded words are written
+   * @throws java.nio.BufferOverflowException if the buffer has not enough room left
+   */
+  public static void appendNumberToWord(CharSequence number, String currencyCode,
+      ByteBuffer out) {
+    ENGINE.render(number, currencyCode, out);
+  }
+
+  /**
+   * Write UTF-8 encoded word representation of an amount already split in its whole and fraction
+   * parts, in given currencyCode, to given buffer.
+   * 
+   * @param primitive whole part of the amount
+   * @param fraction fraction part of the amount, not rendered unless positive
+   * @param currencyCode of currency in which word are use in convert amount in word
+   * @param out buffer to which encoded words are written
+   * @throws java.nio.BufferOverflowException if the buffer has not enough room left
+   */
+  public static void appendNumberToWord(long primitive, long fraction, String currencyCode,
+      ByteBuffer out) {
+    ENGINE.render(primitive, fraction, currencyCode, out);
   }
 
   /**
@@ -113,36 +174,40 @@ public class GujaratiNumberToWord {
    */
   public static String getWordRepresentationForPrimitive(long number) {
     StringBuilder sb = new StringBuilder();
-    if (number < 0) {
-      return "";
-    }
-    if (number < 100) {
-      return getWordRepresentation((int) number);
-    }
-    for (int i = 0; i < TEXT_UNITS_IN_WORDS.length; i++) {
-      long unit = UNITS_IN_NUMBER[i];
-      long numb = (number / unit);
-
-      if (numb > 0) {
-        if (numb > 99) {
-          sb.append(getWordRepresentationForPrimitive(numb));
-        }
-        if (i == 3 && numb == 2) {
-          sb.append(TEXT_TWO_HUNDRED);
-          sb.append(SPACE);
-        } else {
-          sb.append(getWordRepresentation((int) (numb)));
-          sb.append(SPACE);
-          sb.append(TEXT_UNITS_IN_WORDS[i]);
-          sb.append(SPACE);
-        }
-      }
-      number = number % unit;
-    }
-    if (number > 0) {
-      sb.append(getWordRepresentation((int) number));
-    }
-    return sb.toString().trim();
+    appendWordRepresentationForPrimitive(number, sb);
+    return sb.toString();
+  }
+
+  /**
+   * Give word representation of given nonfriction number of any size in given language.
+   * 
+   * @param number need to represent in word
+   */
+  public static String getWordRepresentationForPrimitive(BigInteger number) {
+    StringBuilder sb = new StringBuilder();
+    appendWordRepresentationForPrimitive(number, sb);
+    return sb.toString();
+  }
+
+  /**
+   * Append word representation of given nonfriction number to given buffer.
+   * 
+   * @param number need to represent in word
+   * @param out buffer to which word representation is appended
+   */
+  public static void appendWordRepresentationForPrimitive(long number, StringBuilder out) {
+    ENGINE.appendWords(number, out);
+  }
+
+  /**
+   * Append word representation of given nonfriction number of any size to given buffer, walking
+   * its digits seven at a time.
+   * 
+   * @param number need to represent in word
+   * @param out buffer to which word representation is appended
+   */
+  public static void appendWordRepresentationForPrimitive(BigInteger number, StringBuilder out) {
+    ENGINE.appendWords(number, out);
   }
 
   /**
@@ -151,9 +216,16 @@ public class GujaratiNumberToWord {
    * @param number An integer between 0 and 99
    */
   public static String getWordRepresentation(int number) {
-    if (number < 0 || number > 99) {
-      return "";
-    }
-    return TEXT_ONE_TO_NINETYNINE[number];
+    return ENGINE.wordBelowHundred(number);
+  }
+
+  /**
+   * Append word representation of the number < 100 (0-99) to given buffer.
+   * 
+   * @param number An integer between 0 and 99
+   * @param out buffer to which word representation is appended
+   */
+  public static void appendWordRepresentation(int number, StringBuilder out) {
+    out.append(ENGINE.wordBelowHundred(number));
   }
 }
@@ -0,0 +1,603 @@
+package com.dw.num.to.word;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Declarative description of how a language writes amounts: its words for 0-99, hundred and the
+ * scale words, the {@link NumberingSystem} grouping digits under them, irregular forms, connector
+ * words and currency texts.
+ *
+ * <p>A definition holds no rendering code: {@link CompiledNumberToWordEngine} compiles it into
+ * flat phrase tables shared by all languages, so that a new language gets the same rendering path
+ * as the built-in ones. Definitions are validated when built, so a broken one fails as soon as the
+ * class declaring it is loaded rather than on some conversion.
+ *
+ * <pre>
+ * LanguageDefinition.builder("en-intl")
+ *     .numberingSystem(NumberingSystem.INTERNATIONAL)
+ *     .units("Zero", "One", "Two", ...)
+ *     .teens("Eleven", "Twelve", ...)
+ *     .tens("Ten", "Twenty", ...)
+ *     .tensSeparator("-")
+ *     .hundred("Hundred")
+ *     .hundredConnector("and")
+ *     .scales("Thousand", "Million", "Billion", "Trillion", "Quadrillion", "Quintillion")
+ *     .currency("Dollars", "Cents")
+ *     .only("Only")
+ *     .build();
+ * </pre>
+ */
+public final class LanguageDefinition {
+
+  /**
+   * Largest number of scale words above the thousand, each needing a phrase table.
+   */
+  static final int MAX_GROUPS = 6;
+
+  /**
+   * Largest number of digits below the repeated scale word, so that a chunk fits a long.
+   */
+  static final int MAX_CHUNK_DIGITS = 18;
+
+  private static final int HUNDRED = 100;
+  private static final int THOUSAND = 1000;
+
+  private final String language;
+  private final NumberingSystem numberingSystem;
+  private final String separator;
+  private final String[] belowHundred;
+  private final String[] units;
+  private final String[] teens;
+  private final String[] tens;
+  private final String tensSeparator;
+  private final String hundred;
+  private final String hundredConnector;
+  private final String[] otherHundredConnectors;
+  private final String[] irregularHundreds;
+  private final String[] irregular;
+  private final String[] scales;
+  private final String currencyWholeText;
+  private final String currencyDecimalText;
+  private final String only;
+  private final String[] currencyCodes;
+  private final String[] currencyWholeTexts;
+  private final String[] currencyDecimalTexts;
+  private final int[] currencyDecimalDigits;
+  private final boolean capitalizeCurrencies;
+
+  private LanguageDefinition(Builder builder, String[] belowHundred) {
+    this.language = builder.language;
+    this.numberingSystem = builder.numberingSystem;
+    this.separator = builder.separator;
+    this.belowHundred = belowHundred;
+    this.units = builder.units;
+    this.teens = builder.teens;
+    this.tens = builder.tens;
+    this.tensSeparator = builder.tensSeparator;
+    this.hundred = builder.hundred;
+    this.hundredConnector = builder.hundredConnector;
+    this.otherHundredConnectors = builder.otherHundredConnectors.clone();
+    this.irregularHundreds = builder.irregularHundreds.clone();
+    this.irregular = builder.irregular.clone();
+    this.scales = builder.scales.clone();
+    this.currencyWholeText = builder.currencyWholeText;
+    this.currencyDecimalText = builder.currencyDecimalText;
+    this.only = builder.only;
+    this.currencyCodes = builder.currencyCodes.clone();
+    this.currencyWholeTexts = builder.currencyWholeTexts.clone();
+    this.currencyDecimalTexts = builder.currencyDecimalTexts.clone();
+    this.currencyDecimalDigits = builder.currencyDecimalDigits.clone();
+    this.capitalizeCurrencies = builder.capitalizeCurrencies;
+  }
+
+  /**
+   * Starts the definition of given language.
+   *
+   * @param language code of the language, for example "en"
+   */
+  public static Builder builder(String language) {
+    return new Builder(language);
+  }
+
+  /**
+   * returns code of the defined language.
+   */
+  public String getLanguage() {
+    return language;
+  }
+
+  /**
+   * returns how digits are grouped under the scale words.
+   */
+  public NumberingSystem getNumberingSystem() {
+    return numberingSystem;
+  }
+
+  String separator() {
+    return separator;
+  }
+
+  /**
+   * returns words for 0-99, irregular forms applied.
+   */
+  String[] belowHundred() {
+    return belowHundred.clone();
+  }
+
+  /**
+   * returns phrase of given number of hundreds (1-9), e.g. "Two Hundred".
+   */
+  String hundreds(int digit) {
+    if (irregularHundreds[digit] != null) {
+      return irregularHundreds[digit];
+    }
+    return belowHundred[digit] + separator + hundred;
+  }
+
+  /**
+   * returns word of hundred, e.g. "Hundred".
+   */
+  String hundred() {
+    return hundred;
+  }
+
+  /**
+   * returns connector word placed between the hundreds and the rest of a group, or null.
+   */
+  String hundredConnector() {
+    return hundredConnector;
+  }
+
+  /**
+   * returns other connector words read between the hundreds and the rest of a group.
+   */
+  String[] otherHundredConnectors() {
+    return otherHundredConnectors.clone();
+  }
+
+  /**
+   * returns text joining tens and units of composed words, or null when it is the separator.
+   */
+  String tensSeparator() {
+    return tensSeparator;
+  }
+
+  /**
+   * returns irregular words of given number between 100 and 999, or null when regular.
+   */
+  String irregular(int number) {
+    return irregular[number];
+  }
+
+  /**
+   * returns scale words, thousand first; the last one is repeated for larger numbers.
+   */
+  String[] scales() {
+    return scales.clone();
+  }
+
+  String only() {
+    return only;
+  }
+
+  CurrencyText defaultCurrency() {
+    return new CurrencyText(currencyWholeText, currencyDecimalText,
+        CurrencyText.DEFAULT_DECIMAL_DIGITS, false);
+  }
+
+  boolean capitalizeCurrencies() {
+    return capitalizeCurrencies;
+  }
+
+  /**
+   * returns this definition in the style of given options: every word in their case and
+   * separated by their separator, tens and units joined and hundreds connected as they ask. Texts
+   * of known currencies are left out, engines style the ones in use.
+   */
+  LanguageDefinition styled(RenderOptions options) {
+    Builder builder = builder(language).numberingSystem(numberingSystem)
+        .separator(options.getSeparator() != null ? options.getSeparator() : separator)
+        .hundred(style(options, hundred))
+        .scales(style(options, scales))
+        .currency(style(options, currencyWholeText), style(options, currencyDecimalText))
+        .only(style(options, only));
+    if (units != null) {
+      builder.units(style(options, units)).teens(style(options, teens)).tens(style(options, tens))
+          .tensSeparator(options.getTensSeparator() != null ? options.getTensSeparator()
+              : style(options, tensSeparator));
+    } else {
+      builder.belowHundred(style(options, belowHundred));
+    }
+    builder.hundredConnector(options.getHundredConnector() != null
+        ? options.getLetterCase().apply(options.getHundredConnector())
+        : style(options, hundredConnector));
+    builder.otherHundredConnectors(style(options, otherHundredConnectors));
+    for (int digit = 1; digit < irregularHundreds.length; digit++) {
+      if (irregularHundreds[digit] != null) {
+        builder.irregularHundred(digit, style(options, irregularHundreds[digit]));
+      }
+    }
+    for (int i = 1; i < THOUSAND; i++) {
+      if (irregular[i] != null) {
+        builder.irregular(i, style(options, irregular[i]));
+      }
+    }
+    return builder.build();
+  }
+
+  private String style(RenderOptions options, String text) {
+    return options.style(text, separator);
+  }
+
+  private String[] style(RenderOptions options, String[] texts) {
+    String[] styled = new String[texts.length];
+    for (int i = 0; i < texts.length; i++) {
+      styled[i] = style(options, texts[i]);
+    }
+    return styled;
+  }
+
+  /**
+   * returns index of the currency texts of the definition, falling back to the default currency.
+   */
+  CurrencyIndex currencies() {
+    return CurrencyTexts.fromTables(defaultCurrency(), currencyCodes, currencyWholeTexts,
+        currencyDecimalTexts, currencyDecimalDigits, capitalizeCurrencies);
+  }
+
+  @Override
+  public String toString() {
+    return "LanguageDefinition[" + language + ", " + numberingSystem + ", scales "
+        + Arrays.toString(scales) + "]";
+  }
+
+  /**
+   * Collects the parts of a {@link LanguageDefinition}.
+   */
+  public static final class Builder {
+
+    private final String language;
+    private NumberingSystem numberingSystem = NumberingSystem.INDIAN;
+    private String separator = " ";
+    private String[] belowHundred;
+    private String[] units;
+    private String[] teens;
+    private String[] tens;
+    private String tensSeparator;
+    private String hundred;
+    private String hundredConnector;
+    private String[] otherHundredConnectors = new String[0];
+    private final String[] irregularHundreds = new String[10];
+    private final String[] irregular = new String[THOUSAND];
+    private String[] scales = new String[0];
+    private String currencyWholeText;
+    private String currencyDecimalText;
+    private String only;
+    private String[] currencyCodes = new String[0];
+    private String[] currencyWholeTexts = new String[0];
+    private String[] currencyDecimalTexts = new String[0];
+    private int[] currencyDecimalDigits = new int[0];
+    private boolean capitalizeCurrencies;
+
+    private Builder(String language) {
+      this.language = language;
+    }
+
+    /**
+     * Sets how digits are grouped under the scale words, {@link NumberingSystem#INDIAN} by
+     * default.
+     */
+    public Builder numberingSystem(NumberingSystem numberingSystem) {
+      this.numberingSystem = numberingSystem;
+      return this;
+    }
+
+    /**
+     * Sets the text placed between words, a space by default.
+     */
+    public Builder separator(String separator) {
+      this.separator = separator;
+      return this;
+    }
+
+    /**
+     * Sets the words of every number from 0 to 99, for languages where they cannot be composed.
+     *
+     * @param words 100 words, zero first
+     */
+    public Builder belowHundred(String... words) {
+      this.belowHundred = words.clone();
+      return this;
+    }
+
+    /**
+     * Sets the words of 0 to 9, from which 0-99 is composed along with {@link #teens} and
+     * {@link #tens}.
+     *
+     * @param words 10 words, zero first
+     */
+    public Builder units(String... words) {
+      this.units = words.clone();
+      return this;
+    }
+
+    /**
+     * Sets the words of 11 to 19.
+     *
+     * @param words 9 words, eleven first
+     */
+    public Builder teens(String... words) {
+      this.teens = words.clone();
+      return this;
+    }
+
+    /**
+     * Sets the words of 10, 20 and so on to 90.
+     *
+     * @param words 9 words, ten first
+     */
+    public Builder tens(String... words) {
+      this.tens = words.clone();
+      return this;
+    }
+
+    /**
+     * Sets the text joining tens and units of composed words, e.g. "-" for "Twenty-One"; the
+     * separator by default.
+     */
+    public Builder tensSeparator(String tensSeparator) {
+      this.tensSeparator = tensSeparator;
+      return this;
+    }
+
+    /**
+     * Sets the word of hundred.
+     */
+    public Builder hundred(String word) {
+      this.hundred = word;
+      return this;
+    }
+
+    /**
+     * Sets the word placed between hundreds and the tens or units following them, e.g. "and" for
+     * "One Hundred and Five"; none by default.
+     */
+    public Builder hundredConnector(String word) {
+      this.hundredConnector = word;
+      return this;
+    }
+
+    /**
+     * Sets other words that may stand between hundreds and the rest of a group in amounts read
+     * back, e.g. "and" for English words written with {@link RenderOptions#getHundredConnector()}
+     * "and"; none by default. They are never written.
+     */
+    public Builder otherHundredConnectors(String... words) {
+      this.otherHundredConnectors = words.clone();
+      return this;
+    }
+
+    /**
+     * Sets the scale words, thousand first: thousand, lakh and crore in the Indian system,
+     * thousand, million, billion and so on in the international one. The last word is repeated
+     * for numbers beyond it.
+     */
+    public Builder scales(String... words) {
+      this.scales = words.clone();
+      return this;
+    }
+
+    /**
+     * Sets an irregular phrase of a number of hundreds, used for it and for every number it
+     * starts, e.g. "બસ્સો" for 2 in Gujarati.
+     *
+     * @param digit number of hundreds, 1 to 9
+     * @param words phrase used instead of the digit followed by the hundred word
+     */
+    public Builder irregularHundred(int digit, String words) {
+      if (digit < 1 || digit > 9) {
+        throw new IllegalArgumentException("Hundreds digit must be between 1 and 9: " + digit);
+      }
+      irregularHundreds[digit] = words;
+      return this;
+    }
+
+    /**
+     * Sets irregular words of a number below one thousand, used wherever the number appears on its
+     * own: alone, in front of a scale word or as a fraction.
+     *
+     * @param number number between 1 and 999
+     * @param words words used instead of the composed ones
+     */
+    public Builder irregular(int number, String words) {
+      if (number < 1 || number >= THOUSAND) {
+        throw new IllegalArgumentException("Irregular number must be between 1 and 999: "
+            + number);
+      }
+      irregular[number] = words;
+      return this;
+    }
+
+    /**
+     * Sets the default currency texts, used when no currency or an unknown one is asked for.
+     *
+     * @param wholeText text of the whole part, e.g. Rupees
+     * @param decimalText text of the fraction part, e.g. Paise
+     */
+    public Builder currency(String wholeText, String decimalText) {
+      this.currencyWholeText = wholeText;
+      this.currencyDecimalText = decimalText;
+      return this;
+    }
+
+    /**
+     * Sets the word closing every amount, e.g. Only.
+     */
+    public Builder only(String word) {
+      this.only = word;
+      return this;
+    }
+
+    /**
+     * Sets the texts of known currencies, given as parallel arrays.
+     *
+     * @param codes currency codes
+     * @param wholeTexts texts of the whole part
+     * @param decimalTexts texts of the fraction part, null or blank when it has none
+     * @param decimalDigits number of digits of the minor unit
+     */
+    public Builder currencies(String[] codes, String[] wholeTexts, String[] decimalTexts,
+        int[] decimalDigits) {
+      this.currencyCodes = codes.clone();
+      this.currencyWholeTexts = wholeTexts.clone();
+      this.currencyDecimalTexts = decimalTexts.clone();
+      this.currencyDecimalDigits = decimalDigits.clone();
+      return this;
+    }
+
+    /**
+     * Sets whether currency texts get each word capitalized, false by default.
+     */
+    public Builder capitalizeCurrencies(boolean capitalizeCurrencies) {
+      this.capitalizeCurrencies = capitalizeCurrencies;
+      return this;
+    }
+
+    /**
+     * Validates the definition and builds it.
+     *
+     * @throws IllegalArgumentException listing every problem of the definition
+     */
+    public LanguageDefinition build() {
+      List<String> problems = new ArrayList<>();
+      if (isBlank(language)) {
+        problems.add("language is blank");
+      }
+      if (numberingSystem == null) {
+        problems.add("numberingSystem is missing");
+      }
+      if (separator == null || separator.isEmpty()) {
+        problems.add("separator is empty");
+      }
+      String[] words = composeBelowHundred(problems);
+      checkWord("hundred", hundred, problems);
+      if (hundredConnector != null) {
+        checkWord("hundredConnector", hundredConnector, problems);
+      }
+      checkWords("otherHundredConnectors", otherHundredConnectors, problems);
+      checkWords("scales", scales, problems);
+      if (scales.length == 0) {
+        problems.add("scales are missing");
+      } else if (numberingSystem != null) {
+        int chunkDigits = 3 + (scales.length - 1) * numberingSystem.getGroupDigits();
+        if (scales.length - 1 > MAX_GROUPS || chunkDigits > MAX_CHUNK_DIGITS) {
+          problems.add("too many scales: the largest must be at most 10^" + MAX_CHUNK_DIGITS
+              + " and follow at most " + MAX_GROUPS + " others");
+        }
+      }
+      for (int i = 1; i < irregularHundreds.length; i++) {
+        if (irregularHundreds[i] != null) {
+          checkWord("irregularHundred " + i, irregularHundreds[i], problems);
+        }
+      }
+      for (int i = 1; i < irregular.length; i++) {
+        if (irregular[i] != null) {
+          checkWord("irregular " + i, irregular[i], problems);
+        }
+      }
+      checkWord("currency whole text", currencyWholeText, problems);
+      checkWord("only", only, problems);
+      checkCurrencies(problems);
+      if (!problems.isEmpty()) {
+        throw new IllegalArgumentException("Invalid definition of language " + language + ": "
+            + String.join(", ", problems));
+      }
+      for (int i = 1; i < HUNDRED; i++) {
+        if (irregular[i] != null) {
+          words[i] = irregular[i];
+        }
+      }
+      return new LanguageDefinition(this, words);
+    }
+
+    /**
+     * returns words for 0-99, given as is or composed from units, teens and tens.
+     */
+    private String[] composeBelowHundred(List<String> problems) {
+      if (belowHundred != null) {
+        if (units != null || teens != null || tens != null) {
+          problems.add("belowHundred is given along with units, teens or tens");
+        }
+        checkWords("belowHundred", belowHundred, HUNDRED, problems);
+        return belowHundred.clone();
+      }
+      checkWords("units", units, 10, problems);
+      checkWords("teens", teens, 9, problems);
+      checkWords("tens", tens, 9, problems);
+      if (!problems.isEmpty()) {
+        return null;
+      }
+      String joint = tensSeparator != null ? tensSeparator : separator;
+      String[] words = new String[HUNDRED];
+      for (int i = 0; i < HUNDRED; i++) {
+        if (i < 10) {
+          words[i] = units[i];
+        } else if (i % 10 == 0) {
+          words[i] = tens[i / 10 - 1];
+        } else if (i < 20) {
+          words[i] = teens[i - 11];
+        } else {
+          words[i] = tens[i / 10 - 1] + joint + units[i % 10];
+        }
+      }
+      return words;
+    }
+
+    private void checkCurrencies(List<String> problems) {
+      int count = currencyCodes.length;
+      if (currencyWholeTexts.length != count || currencyDecimalTexts.length != count
+          || currencyDecimalDigits.length != count) {
+        problems.add("currency tables differ in length");
+        return;
+      }
+      for (int i = 0; i < count; i++) {
+        if (isBlank(currencyCodes[i])) {
+          problems.add("currency code " + i + " is blank");
+        }
+        if (currencyDecimalDigits[i] < 0 || currencyDecimalDigits[i] > MinorUnits.MAX_DIGITS) {
+          problems.add("currency " + currencyCodes[i] + " has unsupported decimalDigits "
+              + currencyDecimalDigits[i]);
+        }
+      }
+    }
+
+    private static void checkWords(String name, String[] words, int count,
+        List<String> problems) {
+      if (words == null) {
+        problems.add(name + " are missing");
+      } else if (words.length != count) {
+        problems.add(name + " has " + words.length + " words instead of " + count);
+      } else {
+        checkWords(name, words, problems);
+      }
+    }
+
+    private static void checkWords(String name, String[] words, List<String> problems) {
+      for (int i = 0; i < words.length; i++) {
+        checkWord(name + " " + i, words[i], problems);
+      }
+    }
+
+    private static void checkWord(String name, String word, List<String> problems) {
+      if (isBlank(word)) {
+        problems.add(name + " is blank");
+      }
+    }
+
+    private static boolean isBlank(String text) {
+      return text == null || text.trim().isEmpty();
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.dw.num.to.word;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds, with power of two buckets: bucket {@code i}
+ * counts latencies below 2^i ns and at least 2^(i-1) ns. Recording is one striped increment, so
+ * concurrent threads do not contend on a shared counter.
+ */
+final class LatencyHistogram {
+
+  /**
+   * Number of buckets, the last one holding every latency of 2^(BUCKETS-2) ns (about 9 minutes)
+   * and more.
+   */
+  static final int BUCKETS = 41;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKETS];
+  private final LongAdder totalNanos = new LongAdder();
+
+  LatencyHistogram() {
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records one latency.
+   *
+   * @param nanos latency in nanoseconds, negative values count as 0
+   */
+  void record(long nanos) {
+    long value = Math.max(0, nanos);
+    buckets[Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(value))].increment();
+    totalNanos.add(value);
+  }
+
+  /**
+   * returns count of each bucket; the counts are read one by one, not atomically.
+   */
+  long[] counts() {
+    long[] counts = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets[i].sum();
+    }
+    return counts;
+  }
+
+  /**
+   * returns sum of all recorded latencies.
+   */
+  long totalNanos() {
+    return totalNanos.sum();
+  }
+
+  /**
+   * returns exclusive upper bound of given bucket, in nanoseconds.
+   */
+  static long upperBound(int bucket) {
+    return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+  }
+}
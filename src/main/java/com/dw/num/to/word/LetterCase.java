@@ -0,0 +1,42 @@
+package com.dw.num.to.word;
+
+import java.util.Locale;
+
+/**
+ * Case of the words of an amount, see {@link RenderOptions}. Scripts without case, such as
+ * Devanagari or Gujarati, are written as defined whatever the case asked for.
+ */
+public enum LetterCase {
+
+  /**
+   * Words as the language defines them, e.g. "One Hundred Rupees Only" in English.
+   */
+  AS_DEFINED,
+
+  /**
+   * Every letter upper case, e.g. "ONE HUNDRED RUPEES ONLY" for cheques.
+   */
+  UPPER,
+
+  /**
+   * Every letter lower case, e.g. "one hundred rupees only" for text messages.
+   */
+  LOWER;
+
+  /**
+   * returns given text in this case, or null when null.
+   */
+  String apply(String text) {
+    if (text == null) {
+      return null;
+    }
+    switch (this) {
+      case UPPER:
+        return text.toUpperCase(Locale.ROOT);
+      case LOWER:
+        return text.toLowerCase(Locale.ROOT);
+      default:
+        return text;
+    }
+  }
+}
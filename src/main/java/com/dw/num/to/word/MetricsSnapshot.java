@@ -0,0 +1,229 @@
+package com.dw.num.to.word;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the metrics of {@link NumberToWord} conversions, see
+ * {@link NumberToWord#setMetricsEnabled(boolean)}.
+ */
+public final class MetricsSnapshot {
+
+  private final boolean enabled;
+  private final List<Series> series;
+  private final long languageFallbackCount;
+
+  MetricsSnapshot(boolean enabled, List<Series> series, long languageFallbackCount) {
+    this.enabled = enabled;
+    this.series = Collections.unmodifiableList(series);
+    this.languageFallbackCount = languageFallbackCount;
+  }
+
+  /**
+   * returns whether metrics are being recorded.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * returns metrics of each language and currency used so far.
+   */
+  public List<Series> getSeries() {
+    return series;
+  }
+
+  /**
+   * returns number of conversions, failed ones included.
+   */
+  public long getCallCount() {
+    long count = 0;
+    for (Series value : series) {
+      count += value.callCount;
+    }
+    return count;
+  }
+
+  /**
+   * returns number of conversions that threw, most often because their amount could not be
+   * parsed.
+   */
+  public long getFailureCount() {
+    long count = 0;
+    for (Series value : series) {
+      count += value.failureCount;
+    }
+    return count;
+  }
+
+  /**
+   * returns number of conversions whose currency code was unknown and which were rendered in
+   * Rupees/Paise instead.
+   */
+  public long getCurrencyFallbackCount() {
+    long count = 0;
+    for (Series value : series) {
+      if (value.isCurrencyFallback()) {
+        count += value.callCount;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * returns number of conversions whose language was unknown and which were rendered in English
+   * instead.
+   */
+  public long getLanguageFallbackCount() {
+    return languageFallbackCount;
+  }
+
+  /**
+   * returns latency histogram of all successful conversions, see {@link Series#getHistogram()}.
+   */
+  public long[] getHistogram() {
+    long[] counts = new long[LatencyHistogram.BUCKETS];
+    for (Series value : series) {
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] += value.histogram[i];
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * returns latency under which given share of all successful conversions completed, in
+   * nanoseconds, with power of two resolution; 0 when nothing was converted.
+   *
+   * @param percentile share of conversions, between 0 and 100
+   */
+  public long getLatencyPercentileNanos(double percentile) {
+    return percentile(getHistogram(), percentile);
+  }
+
+  static long percentile(long[] histogram, double percentile) {
+    long total = 0;
+    for (long count : histogram) {
+      total += count;
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100);
+    long seen = 0;
+    for (int i = 0; i < histogram.length; i++) {
+      seen += histogram[i];
+      if (seen >= Math.max(1, rank)) {
+        return LatencyHistogram.upperBound(i);
+      }
+    }
+    return LatencyHistogram.upperBound(histogram.length - 1);
+  }
+
+  @Override
+  public String toString() {
+    return "MetricsSnapshot{enabled=" + enabled + ", callCount=" + getCallCount()
+        + ", failureCount=" + getFailureCount() + ", currencyFallbackCount="
+        + getCurrencyFallbackCount() + ", languageFallbackCount=" + languageFallbackCount
+        + ", series=" + series + "}";
+  }
+
+  /**
+   * Metrics of the conversions of one language and currency.
+   */
+  public static final class Series {
+
+    private final String language;
+    private final String currency;
+    private final long callCount;
+    private final long failureCount;
+    private final long totalNanos;
+    private final long[] histogram;
+
+    Series(String language, String currency, long callCount, long failureCount, long totalNanos,
+        long[] histogram) {
+      this.language = language;
+      this.currency = currency;
+      this.callCount = callCount;
+      this.failureCount = failureCount;
+      this.totalNanos = totalNanos;
+      this.histogram = histogram;
+    }
+
+    /**
+     * returns code of the language of the engine that made the conversions.
+     */
+    public String getLanguage() {
+      return language;
+    }
+
+    /**
+     * returns currency code of the conversions, empty when none was given and "?" for unknown
+     * codes that fell back to Rupees/Paise.
+     */
+    public String getCurrency() {
+      return currency;
+    }
+
+    /**
+     * returns whether this series counts conversions whose currency code was unknown.
+     */
+    public boolean isCurrencyFallback() {
+      return ConversionMetrics.UNKNOWN_CURRENCY.equals(currency);
+    }
+
+    /**
+     * returns number of conversions, failed ones included.
+     */
+    public long getCallCount() {
+      return callCount;
+    }
+
+    /**
+     * returns number of conversions that threw, most often because their amount could not be
+     * parsed.
+     */
+    public long getFailureCount() {
+      return failureCount;
+    }
+
+    /**
+     * returns total time spent in successful conversions, in nanoseconds.
+     */
+    public long getTotalNanos() {
+      return totalNanos;
+    }
+
+    /**
+     * returns mean latency of successful conversions in nanoseconds, 0 when there were none.
+     */
+    public double getMeanNanos() {
+      long successes = callCount - failureCount;
+      return successes <= 0 ? 0 : (double) totalNanos / successes;
+    }
+
+    /**
+     * returns latency histogram of successful conversions: element {@code i} counts conversions
+     * that took less than 2^i ns and at least 2^(i-1) ns, the last one counts all longer ones.
+     */
+    public long[] getHistogram() {
+      return histogram.clone();
+    }
+
+    /**
+     * returns latency under which given share of successful conversions completed, in
+     * nanoseconds, with power of two resolution; 0 when nothing was converted.
+     *
+     * @param percentile share of conversions, between 0 and 100
+     */
+    public long getLatencyPercentileNanos(double percentile) {
+      return percentile(histogram, percentile);
+    }
+
+    @Override
+    public String toString() {
+      return "Series{language=" + language + ", currency=" + currency + ", callCount="
+          + callCount + ", failureCount=" + failureCount + ", meanNanos=" + getMeanNanos() + "}";
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.dw.num.to.word;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Splits numeric amounts in the whole and fraction parts the engines render, according to the
+ * number of minor unit digits of the currency.
+ */
+final class MinorUnits {
+
+  /**
+   * Largest number of minor unit digits supported, that of the most divided ISO 4217 currencies.
+   */
+  static final int MAX_DIGITS = 4;
+
+  private static final long[] LONG_UNITS = {1, 10, 100, 1000, 10000};
+  private static final BigInteger[] BIG_UNITS = {BigInteger.ONE, BigInteger.valueOf(10),
+      BigInteger.valueOf(100), BigInteger.valueOf(1000), BigInteger.valueOf(10000)};
+
+  private MinorUnits() {}
+
+  /**
+   * returns number of minor units in one major unit, e.g. 100 paise in a rupee.
+   *
+   * @param digits number of minor unit digits, between 0 and {@link #MAX_DIGITS}
+   */
+  static long unit(int digits) {
+    return LONG_UNITS[digits];
+  }
+
+  /**
+   * Checks that given amount is not negative: engines have no words for the sign and would render
+   * the currency text alone.
+   *
+   * @param amount amount of any unit
+   * @throws IllegalArgumentException if the amount is negative
+   */
+  static void checkNotNegative(long amount) {
+    if (amount < 0) {
+      throw new IllegalArgumentException("Amount must not be negative: " + amount);
+    }
+  }
+
+  /**
+   * Checks that given amount is not negative, see {@link #checkNotNegative(long)}.
+   *
+   * @param amount amount of any unit
+   * @throws IllegalArgumentException if the amount is negative
+   */
+  static void checkNotNegative(BigInteger amount) {
+    if (amount.signum() < 0) {
+      throw new IllegalArgumentException("Amount must not be negative: " + amount);
+    }
+  }
+
+  /**
+   * Splits given amount, rounded half up to given number of minor unit digits, in its whole part
+   * and its fraction in minor units.
+   *
+   * @param amount amount in major units of the currency
+   * @param digits number of minor unit digits, between 0 and {@link #MAX_DIGITS}
+   * @return whole part and fraction part
+   * @throws IllegalArgumentException if the amount is negative
+   */
+  static BigInteger[] split(BigDecimal amount, int digits) {
+    if (amount.signum() < 0) {
+      throw new IllegalArgumentException("Amount must not be negative: " + amount);
+    }
+    return amount.setScale(digits, RoundingMode.HALF_UP).unscaledValue()
+        .divideAndRemainder(BIG_UNITS[digits]);
+  }
+}
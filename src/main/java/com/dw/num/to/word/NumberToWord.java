@@ -1,10 +1,38 @@
 package com.dw.num.to.word;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 public class NumberToWord {
 
+  private static final ThreadLocal<StringBuilder> SCRATCH = new ThreadLocal<StringBuilder>() {
+    @Override
+    protected StringBuilder initialValue() {
+      return new StringBuilder(128);
+    }
+  };
+
+  private static final ThreadLocal<AmountGroups> GROUPS = new ThreadLocal<AmountGroups>() {
+    @Override
+    protected AmountGroups initialValue() {
+      return new AmountGroups();
+    }
+  };
+
+  private static final ThreadLocal<ByteBuffer> SCRATCH_BYTES = new ThreadLocal<ByteBuffer>() {
+    @Override
+    protected ByteBuffer initialValue() {
+      return ByteBuffer.allocate(512);
+    }
+  };
+
   /**
    * Provide Word representation of given number in given language.
-   * 
+   *
    * @param number need to represent in to word
    * @param language code of language in which number need to represent
    * @return word representation of given number in given language
@@ -15,22 +43,428 @@ public class NumberToWord {
 
   /**
    * Provide Word representation of given number in given language.
-   * 
+   *
    * @param number need to represent in to word
    * @param language code of language in which number need to represent
    * @param currencyCode of currency in which word are use in convert amount in word.
    * @return word representation of given number in given language
    */
   public static String numToWord(String number, String language, String currencyCode) {
-    switch (language) {
-      case "en":
-        return EnglishNumberToWord.getNumberToWord(number, currencyCode);
-      case "hi":
-        return HindiNumberToWord.getNumberToWord(number, currencyCode);
-      case "gu":
-        return GujaratiNumberToWord.getNumberToWord(number, currencyCode);
-      default:
-        return EnglishNumberToWord.getNumberToWord(number, currencyCode);
+    ConversionMetrics metrics = ConversionMetrics.current();
+    if (metrics != null) {
+      return metrics.measure(language, currencyCode,
+          engine -> convert(number, engine, currencyCode, RenderOptions.DEFAULT));
     }
+    return convert(number, NumberToWordEngines.getOrDefault(language), currencyCode,
+        RenderOptions.DEFAULT);
+  }
+
+  /**
+   * Provide Word representation of given number in given language and style, e.g. upper case for
+   * cheques or "One Hundred and Twenty-One" in English. Words are rendered from phrase tables of
+   * the style, built once, so styled conversions cost as much as default ones.
+   *
+   * @param number need to represent in to word
+   * @param language code of language in which number need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word.
+   * @param options style of the words
+   * @return word representation of given number in given language and style
+   * @throws UnsupportedOperationException if the engine of the language cannot render the style
+   */
+  public static String numToWord(String number, String language, String currencyCode,
+      RenderOptions options) {
+    ConversionMetrics metrics = ConversionMetrics.current();
+    if (metrics != null) {
+      return metrics.measure(language, currencyCode,
+          engine -> convert(number, engine, currencyCode, options));
+    }
+    return convert(number, NumberToWordEngines.getOrDefault(language), currencyCode, options);
+  }
+
+  /**
+   * Provide Word representation of an amount given in minor units of the currency, e.g. paise for
+   * Rupees, cents for USD or fils for KWD. The amount is split by the number of minor unit digits
+   * of the currency, without going through its text.
+   *
+   * @param minorUnits amount in minor units of the currency
+   * @param language code of language in which number need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word.
+   * @return word representation of given amount in given language
+   * @throws IllegalArgumentException if the amount is negative
+   */
+  public static String numToWord(long minorUnits, String language, String currencyCode) {
+    ConversionMetrics metrics = ConversionMetrics.current();
+    if (metrics != null) {
+      return metrics.measure(language, currencyCode,
+          engine -> convert(minorUnits, engine, currencyCode));
+    }
+    return convert(minorUnits, NumberToWordEngines.getOrDefault(language), currencyCode);
+  }
+
+  /**
+   * Provide Word representation of given amount, rounded half up to the minor unit of the
+   * currency: "10.5" is ten rupees and fifty paise, 10.5 yen is eleven yen. The whole part may
+   * have any number of digits.
+   *
+   * @param amount amount need to represent in to word
+   * @param language code of language in which number need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word.
+   * @return word representation of given amount in given language
+   * @throws IllegalArgumentException if the amount is negative
+   */
+  public static String numToWord(BigDecimal amount, String language, String currencyCode) {
+    ConversionMetrics metrics = ConversionMetrics.current();
+    if (metrics != null) {
+      return metrics.measure(language, currencyCode,
+          engine -> convert(amount, engine, currencyCode));
+    }
+    return convert(amount, NumberToWordEngines.getOrDefault(language), currencyCode);
+  }
+
+  /**
+   * Provide Word representation of given whole amount, which may have any number of digits.
+   *
+   * @param amount amount need to represent in to word
+   * @param language code of language in which number need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word.
+   * @return word representation of given amount in given language
+   * @throws IllegalArgumentException if the amount is negative
+   */
+  public static String numToWord(BigInteger amount, String language, String currencyCode) {
+    ConversionMetrics metrics = ConversionMetrics.current();
+    if (metrics != null) {
+      return metrics.measure(language, currencyCode,
+          engine -> convertWhole(amount, engine, currencyCode));
+    }
+    return convertWhole(amount, NumberToWordEngines.getOrDefault(language), currencyCode);
+  }
+
+  /**
+   * Provide Word representation of given number in each of given languages, e.g. English and
+   * Hindi for a bilingual invoice. The amount is parsed and split into its groups (crore, lakh,
+   * thousand, hundred) once, then every language only looks up its words for the groups, so
+   * that each additional language costs far less than a call of its own. Results are not cached.
+   *
+   * @param number need to represent in to word
+   * @param languages codes of languages in which number need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word.
+   * @return word representation of given number in each language, in the same order
+   */
+  public static String[] numToWord(String number, String[] languages, String currencyCode) {
+    AmountGroups amount = GROUPS.get();
+    String[] words = new String[languages.length];
+    ConversionMetrics metrics = ConversionMetrics.current();
+    if (metrics == null) {
+      amount.set(number);
+      for (int i = 0; i < languages.length; i++) {
+        words[i] = convert(amount, NumberToWordEngines.getOrDefault(languages[i]), currencyCode);
+      }
+      return words;
+    }
+    for (int i = 0; i < languages.length; i++) {
+      // Parsed within the first conversion, so that an invalid amount is counted as its failure
+      boolean first = i == 0;
+      words[i] = metrics.measure(languages[i], currencyCode,
+          engine -> convert(first ? amount.set(number) : amount, engine, currencyCode));
+    }
+    return words;
+  }
+
+  /**
+   * Read an amount back from its words in given language, e.g. to check the amount in words of a
+   * cheque against its figures: "Twelve Lacs Thirty Four Thousand Rupees Fifty Paise Only" is
+   * 1234000 and 50 paise, in Rupees. Case is ignored and extra whitespace tolerated.
+   *
+   * @param words amount in words
+   * @param language code of language in which the amount is written
+   * @return whole and fraction parts of the amount and the currencies whose texts are used
+   * @throws NumberFormatException if the words are not an amount of the language
+   * @throws UnsupportedOperationException if the engine of the language cannot read words
+   */
+  public static ParsedAmount wordToNum(CharSequence words, String language) {
+    NumberToWordEngine engine = NumberToWordEngines.getOrDefault(language);
+    if (!(engine instanceof CompiledNumberToWordEngine)) {
+      throw new UnsupportedOperationException("Cannot read words of language "
+          + engine.getLanguage());
+    }
+    return ((CompiledNumberToWordEngine) engine).parse(words);
+  }
+
+  /**
+   * Read an amount back from its words in given language, written in given style, e.g. with the
+   * words of {@link #numToWord(String, String, String, RenderOptions)}. Words of the style of the
+   * language and English words with "and" after the hundreds are also read by
+   * {@link #wordToNum(CharSequence, String)}.
+   *
+   * @param words amount in words
+   * @param language code of language in which the amount is written
+   * @param options style in which the amount is written
+   * @return whole and fraction parts of the amount and the currencies whose texts are used
+   * @throws NumberFormatException if the words are not an amount of the language in that style
+   * @throws UnsupportedOperationException if the engine of the language cannot read words
+   */
+  public static ParsedAmount wordToNum(CharSequence words, String language,
+      RenderOptions options) {
+    NumberToWordEngine engine = NumberToWordEngines.getOrDefault(language);
+    if (!(engine instanceof CompiledNumberToWordEngine)) {
+      throw new UnsupportedOperationException("Cannot read words of language "
+          + engine.getLanguage());
+    }
+    return ((CompiledNumberToWordEngine) engine).parse(words, options);
+  }
+
+  private static String convert(String number, NumberToWordEngine engine, String currencyCode,
+      RenderOptions options) {
+    ConversionCache cache = ConversionCache.current();
+    if (cache != null) {
+      return cache.numToWord(number, engine, currencyCode, options);
+    }
+    StringBuilder sb = new StringBuilder();
+    engine.render(number, currencyCode, options, sb);
+    return sb.toString();
+  }
+
+  private static String convert(AmountGroups amount, NumberToWordEngine engine,
+      String currencyCode) {
+    StringBuilder sb = SCRATCH.get();
+    sb.setLength(0);
+    amount.render(engine, currencyCode, sb);
+    return sb.toString();
+  }
+
+  private static String convert(long minorUnits, NumberToWordEngine engine,
+      String currencyCode) {
+    MinorUnits.checkNotNegative(minorUnits);
+    long unit = MinorUnits.unit(engine.getDecimalDigits(currencyCode));
+    return convert(minorUnits / unit, minorUnits % unit, engine, currencyCode);
+  }
+
+  private static String convert(BigDecimal amount, NumberToWordEngine engine,
+      String currencyCode) {
+    BigInteger[] parts = MinorUnits.split(amount, engine.getDecimalDigits(currencyCode));
+    return convert(parts[0], parts[1].longValue(), engine, currencyCode);
+  }
+
+  private static String convert(BigInteger whole, long fraction, NumberToWordEngine engine,
+      String currencyCode) {
+    if (whole.bitLength() < Long.SIZE) {
+      return convert(whole.longValue(), fraction, engine, currencyCode);
+    }
+    StringBuilder sb = new StringBuilder();
+    engine.render(whole, fraction, currencyCode, sb);
+    return sb.toString();
+  }
+
+  private static String convert(long whole, long fraction, NumberToWordEngine engine,
+      String currencyCode) {
+    ConversionCache cache = ConversionCache.current();
+    if (cache != null) {
+      return cache.numToWord(whole, fraction, engine, currencyCode, RenderOptions.DEFAULT);
+    }
+    StringBuilder sb = new StringBuilder();
+    engine.render(whole, fraction, currencyCode, sb);
+    return sb.toString();
+  }
+
+  private static String convertWhole(BigInteger amount, NumberToWordEngine engine,
+      String currencyCode) {
+    MinorUnits.checkNotNegative(amount);
+    return convert(amount, 0, engine, currencyCode);
+  }
+
+  /**
+   * Append Word representation of given number in given language to given buffer. Amount is
+   * parsed in place and words are written straight into the buffer, so rendering into a reused
+   * buffer does not allocate.
+   *
+   * @param number need to represent in to word
+   * @param language code of language in which number need to represent
+   * @param out buffer to which word representation is appended
+   */
+  public static void render(CharSequence number, String language, StringBuilder out) {
+    render(number, language, null, out);
+  }
+
+  /**
+   * Append Word representation of given number in given language to given buffer. Amount is
+   * parsed in place and words are written straight into the buffer, so rendering into a reused
+   * buffer does not allocate.
+   *
+   * @param number need to represent in to word
+   * @param language code of language in which number need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word.
+   * @param out buffer to which word representation is appended
+   */
+  public static void render(CharSequence number, String language, String currencyCode,
+      StringBuilder out) {
+    NumberToWordEngines.getOrDefault(language).render(number, currencyCode, out);
+  }
+
+  /**
+   * Append Word representation of given number in given language and style to given buffer,
+   * without allocating once the phrase tables of the style are built.
+   *
+   * @param number need to represent in to word
+   * @param language code of language in which number need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word.
+   * @param options style of the words
+   * @param out buffer to which word representation is appended
+   * @throws UnsupportedOperationException if the engine of the language cannot render the style
+   */
+  public static void render(CharSequence number, String language, String currencyCode,
+      RenderOptions options, StringBuilder out) {
+    NumberToWordEngines.getOrDefault(language).render(number, currencyCode, options, out);
+  }
+
+  /**
+   * Append Word representation of given number in given language to given {@link Appendable}.
+   * Words are rendered into a per-thread buffer and handed over to {@code out} in one call.
+   *
+   * @param number need to represent in to word
+   * @param language code of language in which number need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word.
+   * @param out target to which word representation is appended
+   * @throws IOException if {@code out} fails to accept the words
+   */
+  public static void render(CharSequence number, String language, String currencyCode,
+      Appendable out) throws IOException {
+    if (out instanceof StringBuilder) {
+      render(number, language, currencyCode, (StringBuilder) out);
+      return;
+    }
+    StringBuilder sb = SCRATCH.get();
+    sb.setLength(0);
+    render(number, language, currencyCode, sb);
+    out.append(sb);
+  }
+
+  /**
+   * Write UTF-8 encoded Word representation of given number in given language to given buffer.
+   * Words are copied from tables encoded once per language, no String is built or encoded.
+   *
+   * @param number need to represent in to word
+   * @param language code of language in which number need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word.
+   * @param out buffer to which encoded words are written
+   * @throws java.nio.BufferOverflowException if the buffer has not enough room left, in which
+   *         case its position is unspecified
+   */
+  public static void render(CharSequence number, String language, String currencyCode,
+      ByteBuffer out) {
+    NumberToWordEngines.getOrDefault(language).render(number, currencyCode, out);
+  }
+
+  /**
+   * Write UTF-8 encoded Word representation of given number in given language to given stream.
+   * Words are encoded into a per-thread buffer and handed over to {@code out} in one call.
+   *
+   * @param number need to represent in to word
+   * @param language code of language in which number need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word.
+   * @param out stream to which encoded words are written
+   * @throws IOException if {@code out} fails to accept the words
+   */
+  public static void render(CharSequence number, String language, String currencyCode,
+      OutputStream out) throws IOException {
+    NumberToWordEngine engine = NumberToWordEngines.getOrDefault(language);
+    ByteBuffer buffer = SCRATCH_BYTES.get();
+    while (true) {
+      buffer.clear();
+      try {
+        engine.render(number, currencyCode, buffer);
+        break;
+      } catch (BufferOverflowException e) {
+        buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+        SCRATCH_BYTES.set(buffer);
+      }
+    }
+    out.write(buffer.array(), 0, buffer.position());
+  }
+
+  /**
+   * Append Word representation of given number in each of given languages to the buffer of the
+   * same index, parsing and splitting the amount into its groups once for all languages. Words
+   * are written straight into the buffers, so rendering into reused buffers does not allocate.
+   *
+   * @param number need to represent in to word
+   * @param languages codes of languages in which number need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word.
+   * @param outs buffers to which word representation in each language is appended
+   * @throws IllegalArgumentException if there are not as many buffers as languages
+   */
+  public static void render(CharSequence number, String[] languages, String currencyCode,
+      StringBuilder[] outs) {
+    if (outs.length != languages.length) {
+      throw new IllegalArgumentException(outs.length + " buffers for " + languages.length
+          + " languages");
+    }
+    AmountGroups amount = GROUPS.get().set(number);
+    for (int i = 0; i < languages.length; i++) {
+      amount.render(NumberToWordEngines.getOrDefault(languages[i]), currencyCode, outs[i]);
+    }
+  }
+
+  /**
+   * Append UTF-8 encoded Word representation of given number in each of given languages as rows
+   * of given column, one per language in the same order, parsing and splitting the amount into
+   * its groups once for all languages.
+   *
+   * @param number need to represent in to word
+   * @param languages codes of languages in which number need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word.
+   * @param out column to which a row is appended for each language
+   */
+  public static void render(CharSequence number, String[] languages, String currencyCode,
+      WordColumn out) {
+    AmountGroups amount = GROUPS.get().set(number);
+    WordColumn.RowWriter writer = (row, bytes) ->
+        amount.render(NumberToWordEngines.getOrDefault(languages[row]), currencyCode, bytes);
+    for (int row = 0; row < languages.length; row++) {
+      out.append(writer, row);
+    }
+  }
+
+  /**
+   * Enables caching of {@link #numToWord(String, String, String)} results. Amounts are cached on
+   * their parsed value, so "100", "100.0" and "100.00" share one entry, and the least frequently
+   * used entries are evicted once given size is reached. Caching is off by default, it can also be
+   * enabled with the {@code num-to-word.cache.maxEntries} system property.
+   *
+   * @param maxEntries maximum number of cached conversions, 0 to disable caching, capped to
+   *     1,048,576
+   */
+  public static void setCacheMaxEntries(int maxEntries) {
+    ConversionCache.configure(maxEntries);
+  }
+
+  /**
+   * Enables or disables metrics of {@code numToWord} conversions: call counts, parse failures,
+   * currency and language fallbacks and a latency histogram, by language and currency. Metrics are
+   * off by default and cost nothing then; they can also be enabled with the
+   * {@code num-to-word.metrics.enabled} system property. Enabling them registers the
+   * {@link NumberToWordMetricsBean} under {@code com.dw.num.to.word:type=Metrics}.
+   *
+   * @param enabled whether conversions are measured, disabling drops the counters
+   */
+  public static void setMetricsEnabled(boolean enabled) {
+    ConversionMetrics.setEnabled(enabled);
+  }
+
+  /**
+   * Provide metrics of {@code numToWord} conversions.
+   *
+   * @return counters recorded since metrics were enabled, empty when they are disabled
+   */
+  public static MetricsSnapshot getMetrics() {
+    return ConversionMetrics.currentSnapshot();
+  }
+
+  /**
+   * Provide statistics of the result cache.
+   *
+   * @return hit, miss and eviction counts of the cache in use
+   */
+  public static CacheStats getCacheStats() {
+    return ConversionCache.currentStats();
   }
 }
@@ -0,0 +1,327 @@
+package com.dw.num.to.word;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Converts whole columns of amounts at once, spreading the rows over a fork-join pool or a caller
+ * supplied executor.
+ *
+ * <p>Rows are split in contiguous ranges; every range is rendered by one task into its own
+ * scratch buffer and written to its own slots of the result array, so tasks share no mutable
+ * state and throughput grows with the number of workers.
+ *
+ * <p>Bulk conversions render every row and bypass the result cache and the metrics of
+ * {@link NumberToWord}, which would only add contention across workers. A row that cannot be
+ * converted fails the whole call with the exception it threw, whatever the executor.
+ */
+public final class NumberToWordBulk {
+
+  /**
+   * Smallest range of rows worth rendering in a task of its own.
+   */
+  private static final int MIN_RANGE = 256;
+
+  /**
+   * Number of ranges per worker, so that faster workers can pick up the slack of slower ones.
+   */
+  private static final int RANGES_PER_WORKER = 4;
+
+  private NumberToWordBulk() {}
+
+  /**
+   * Renders one row into given scratch buffer.
+   */
+  private interface RowRenderer {
+    void render(int row, NumberToWordEngine engine, String currencyCode, StringBuilder out);
+  }
+
+  /**
+   * Provide Word representation of amounts given in minor units (e.g. paise), on the common
+   * fork-join pool. Amounts are split by the number of minor unit digits of the currency.
+   *
+   * @param minorUnits amounts in minor units of the currency
+   * @param language code of language in which numbers need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @return word representation of each amount, in the same order
+   * @throws IllegalArgumentException if an amount is negative, naming its row
+   */
+  public static String[] numToWord(long[] minorUnits, String language, String currencyCode) {
+    return numToWord(minorUnits, language, currencyCode, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Provide Word representation of amounts given in minor units (e.g. paise), on given executor.
+   * Amounts are split by the number of minor unit digits of the currency.
+   *
+   * @param minorUnits amounts in minor units of the currency
+   * @param language code of language in which numbers need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param executor executor running the conversion tasks, a {@link ForkJoinPool} is split
+   *        recursively
+   * @return word representation of each amount, in the same order
+   * @throws IllegalArgumentException if an amount is negative, naming its row
+   */
+  public static String[] numToWord(long[] minorUnits, String language, String currencyCode,
+      Executor executor) {
+    return convert(minorUnits.length, language, currencyCode, executor,
+        (row, engine, currency, out) -> {
+          long amount = checkedMinorUnits(minorUnits, row);
+          long unit = MinorUnits.unit(engine.getDecimalDigits(currency));
+          engine.render(amount / unit, amount % unit, currency, out);
+        });
+  }
+
+  /**
+   * Provide Word representation of given amounts, on the common fork-join pool. Amounts are
+   * rounded half up to the minor unit of the currency.
+   *
+   * @param amounts amounts need to represent in to word
+   * @param language code of language in which numbers need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @return word representation of each amount, in the same order
+   * @throws IllegalArgumentException if an amount is negative, naming its row
+   * @throws NullPointerException if an amount is null, naming its row
+   */
+  public static String[] numToWord(BigDecimal[] amounts, String language, String currencyCode) {
+    return numToWord(amounts, language, currencyCode, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Provide Word representation of given amounts, on given executor. Amounts are rounded half up
+   * to the minor unit of the currency.
+   *
+   * @param amounts amounts need to represent in to word
+   * @param language code of language in which numbers need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param executor executor running the conversion tasks, a {@link ForkJoinPool} is split
+   *        recursively
+   * @return word representation of each amount, in the same order
+   * @throws IllegalArgumentException if an amount is negative, naming its row
+   * @throws NullPointerException if an amount is null, naming its row
+   */
+  public static String[] numToWord(BigDecimal[] amounts, String language,
+      String currencyCode, Executor executor) {
+    return convert(amounts.length, language, currencyCode, executor,
+        (row, engine, currency, out) -> {
+          BigInteger[] parts =
+              MinorUnits.split(checkedAmount(amounts, row), engine.getDecimalDigits(currency));
+          engine.render(parts[0], parts[1].longValue(), currency, out);
+        });
+  }
+
+  /**
+   * Provide Word representation of given textual amounts, on the common fork-join pool, with the
+   * same parsing rules as {@link NumberToWord#numToWord(String, String, String)}.
+   *
+   * @param amounts amounts need to represent in to word
+   * @param language code of language in which numbers need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @return word representation of each amount, in the same order
+   */
+  public static String[] numToWord(List<? extends CharSequence> amounts, String language,
+      String currencyCode) {
+    return numToWord(amounts, language, currencyCode, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Provide Word representation of given textual amounts, on given executor, with the same
+   * parsing rules as {@link NumberToWord#numToWord(String, String, String)}.
+   *
+   * @param amounts amounts need to represent in to word
+   * @param language code of language in which numbers need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param executor executor running the conversion tasks, a {@link ForkJoinPool} is split
+   *        recursively
+   * @return word representation of each amount, in the same order
+   */
+  public static String[] numToWord(List<? extends CharSequence> amounts, String language,
+      String currencyCode, Executor executor) {
+    return convert(amounts.size(), language, currencyCode, executor,
+        (row, engine, currency, out) -> engine.render(amounts.get(row), currency, out));
+  }
+
+  /**
+   * Append UTF-8 word representation of amounts given in minor units (e.g. paise) as rows of given
+   * column, on the calling thread. Amounts are split by the number of minor unit digits of the
+   * currency.
+   *
+   * <p>Words are written by the engine into the scratch buffer of the column and copied in place,
+   * without an object per row; use one column per thread to fill several at once.
+   *
+   * @param minorUnits amounts in minor units of the currency
+   * @param language code of language in which numbers need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param out column to which a row is appended for each amount, in the same order
+   * @throws IllegalArgumentException if an amount is negative, naming its row
+   */
+  public static void render(long[] minorUnits, String language, String currencyCode,
+      WordColumn out) {
+    NumberToWordEngine engine = NumberToWordEngines.getOrDefault(language);
+    long unit = MinorUnits.unit(engine.getDecimalDigits(currencyCode));
+    WordColumn.RowWriter writer = (row, bytes) -> {
+      long amount = checkedMinorUnits(minorUnits, row);
+      engine.render(amount / unit, amount % unit, currencyCode, bytes);
+    };
+    for (int row = 0; row < minorUnits.length; row++) {
+      out.append(writer, row);
+    }
+  }
+
+  /**
+   * Append UTF-8 word representation of given amounts as rows of given column, on the calling
+   * thread. Amounts are rounded half up to the minor unit of the currency.
+   *
+   * @param amounts amounts need to represent in to word
+   * @param language code of language in which numbers need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param out column to which a row is appended for each amount, in the same order
+   * @throws IllegalArgumentException if an amount is negative, naming its row
+   * @throws NullPointerException if an amount is null, naming its row
+   */
+  public static void render(BigDecimal[] amounts, String language, String currencyCode,
+      WordColumn out) {
+    NumberToWordEngine engine = NumberToWordEngines.getOrDefault(language);
+    int decimalDigits = engine.getDecimalDigits(currencyCode);
+    StringBuilder scratch = new StringBuilder();
+    WordColumn.RowWriter writer = (row, bytes) -> {
+      BigInteger[] parts = MinorUnits.split(checkedAmount(amounts, row), decimalDigits);
+      if (parts[0].bitLength() < Long.SIZE) {
+        engine.render(parts[0].longValue(), parts[1].longValue(), currencyCode, bytes);
+      } else {
+        scratch.setLength(0);
+        engine.render(parts[0], parts[1].longValue(), currencyCode, scratch);
+        Utf8.encode(scratch, bytes);
+      }
+    };
+    for (int row = 0; row < amounts.length; row++) {
+      out.append(writer, row);
+    }
+  }
+
+  /**
+   * Append UTF-8 word representation of given textual amounts as rows of given column, on the
+   * calling thread, with the same parsing rules as
+   * {@link NumberToWord#numToWord(String, String, String)}.
+   *
+   * @param amounts amounts need to represent in to word
+   * @param language code of language in which numbers need to represent
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param out column to which a row is appended for each amount, in the same order
+   */
+  public static void render(List<? extends CharSequence> amounts, String language,
+      String currencyCode, WordColumn out) {
+    NumberToWordEngine engine = NumberToWordEngines.getOrDefault(language);
+    WordColumn.RowWriter writer =
+        (row, bytes) -> engine.render(amounts.get(row), currencyCode, bytes);
+    for (int row = 0; row < amounts.size(); row++) {
+      out.append(writer, row);
+    }
+  }
+
+  private static long checkedMinorUnits(long[] minorUnits, int row) {
+    long amount = minorUnits[row];
+    if (amount < 0) {
+      throw new IllegalArgumentException("Amount at row " + row + " must not be negative: "
+          + amount);
+    }
+    return amount;
+  }
+
+  private static BigDecimal checkedAmount(BigDecimal[] amounts, int row) {
+    BigDecimal amount = amounts[row];
+    if (amount == null) {
+      throw new NullPointerException("Amount at row " + row + " is null");
+    }
+    if (amount.signum() < 0) {
+      throw new IllegalArgumentException("Amount at row " + row + " must not be negative: "
+          + amount);
+    }
+    return amount;
+  }
+
+  private static String[] convert(int rows, String language, String currencyCode,
+      Executor executor, RowRenderer renderer) {
+    NumberToWordEngine engine = NumberToWordEngines.getOrDefault(language);
+    String[] words = new String[rows];
+    int workers = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism()
+        : Runtime.getRuntime().availableProcessors();
+    int range = Math.max(MIN_RANGE, rows / (workers * RANGES_PER_WORKER) + 1);
+    if (rows <= range) {
+      new RangeTask(renderer, engine, currencyCode, words, 0, rows, range).compute();
+    } else if (executor instanceof ForkJoinPool) {
+      ((ForkJoinPool) executor)
+          .invoke(new RangeTask(renderer, engine, currencyCode, words, 0, rows, range));
+    } else {
+      CompletableFuture<?>[] tasks = new CompletableFuture<?>[(rows + range - 1) / range];
+      for (int i = 0; i < tasks.length; i++) {
+        int from = i * range;
+        tasks[i] = CompletableFuture.runAsync(new RangeTask(renderer, engine, currencyCode, words,
+            from, Math.min(rows, from + range), range)::compute, executor);
+      }
+      try {
+        CompletableFuture.allOf(tasks).join();
+      } catch (CompletionException e) {
+        // Throw what the row threw, as a fork-join pool does.
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw e;
+      }
+    }
+    return words;
+  }
+
+  /**
+   * Renders a range of rows, splitting it in halves while it is larger than the range size.
+   */
+  private static final class RangeTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient RowRenderer renderer;
+    private final transient NumberToWordEngine engine;
+    private final String currencyCode;
+    private final String[] words;
+    private final int from;
+    private final int to;
+    private final int range;
+
+    RangeTask(RowRenderer renderer, NumberToWordEngine engine, String currencyCode,
+        String[] words, int from, int to, int range) {
+      this.renderer = renderer;
+      this.engine = engine;
+      this.currencyCode = currencyCode;
+      this.words = words;
+      this.from = from;
+      this.to = to;
+      this.range = range;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > range) {
+        int middle = (from + to) >>> 1;
+        invokeAll(new RangeTask(renderer, engine, currencyCode, words, from, middle, range),
+            new RangeTask(renderer, engine, currencyCode, words, middle, to, range));
+        return;
+      }
+      StringBuilder scratch = new StringBuilder(128);
+      for (int row = from; row < to; row++) {
+        scratch.setLength(0);
+        renderer.render(row, engine, currencyCode, scratch);
+        words[row] = scratch.toString();
+      }
+    }
+  }
+}
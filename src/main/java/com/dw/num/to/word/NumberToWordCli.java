@@ -0,0 +1,108 @@
+package com.dw.num.to.word;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command line entry point converting the amount column of a delimited file, see
+ * {@link AmountFileConverter}.
+ *
+ * <pre>
+ * java -jar num-to-word.jar [options] &lt;input&gt; &lt;output&gt;
+ *   -l, --language &lt;code&gt;   language of the words, en by default
+ *   -c, --currency &lt;code&gt;   currency code, Rupees/Paise by default
+ *   -k, --column &lt;index&gt;    index of the amount column starting at 0, 0 by default
+ *   -d, --delimiter &lt;char&gt;  column delimiter, ',' by default
+ *   -H, --header            first line is a header
+ * </pre>
+ */
+public final class NumberToWordCli {
+
+  private static final String USAGE =
+      "Usage: java -jar num-to-word.jar [options] <input> <output>\n"
+      + "  -l, --language <code>   language of the words, en by default\n"
+      + "  -c, --currency <code>   currency code, Rupees/Paise by default\n"
+      + "  -k, --column <index>    index of the amount column starting at 0, 0 by default\n"
+      + "  -d, --delimiter <char>  column delimiter, ',' by default\n"
+      + "  -H, --header            first line is a header";
+
+  private NumberToWordCli() {}
+
+  /**
+   * Converts the file given on the command line and prints the throughput of the run.
+   *
+   * @param args options, input file and output file
+   */
+  public static void main(String[] args) {
+    String language = NumberToWordEngines.DEFAULT_LANGUAGE;
+    String currencyCode = null;
+    int column = 0;
+    char delimiter = ',';
+    boolean header = false;
+    Path input = null;
+    Path output = null;
+    AmountFileConverter converter;
+    try {
+      for (int i = 0; i < args.length; i++) {
+        String arg = args[i];
+        switch (arg) {
+          case "-l":
+          case "--language":
+            language = value(args, ++i);
+            break;
+          case "-c":
+          case "--currency":
+            currencyCode = value(args, ++i);
+            break;
+          case "-k":
+          case "--column":
+            column = Integer.parseInt(value(args, ++i));
+            break;
+          case "-d":
+          case "--delimiter":
+            String value = value(args, ++i);
+            delimiter = "\\t".equals(value) ? '\t' : value.charAt(0);
+            break;
+          case "-H":
+          case "--header":
+            header = true;
+            break;
+          default:
+            if (input == null) {
+              input = Paths.get(arg);
+            } else if (output == null) {
+              output = Paths.get(arg);
+            } else {
+              throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+        }
+      }
+      if (output == null) {
+        throw new IllegalArgumentException("Input and output files are required");
+      }
+      converter = new AmountFileConverter(language, currencyCode, column)
+          .setDelimiter(delimiter).setHeader(header);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(2);
+      return;
+    }
+
+    try {
+      ConversionReport report = converter.convert(input, output);
+      System.out.println(report);
+    } catch (IOException e) {
+      System.err.println("Conversion failed: " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  private static String value(String[] args, int index) {
+    if (index >= args.length || args[index].isEmpty()) {
+      throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+    }
+    return args[index];
+  }
+}
@@ -0,0 +1,178 @@
+package com.dw.num.to.word;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts amounts to words in one language.
+ *
+ * <p>Engines are discovered with {@link java.util.ServiceLoader}: a jar adds a language by listing
+ * its implementation in {@code META-INF/services/com.dw.num.to.word.NumberToWordEngine}. An
+ * implementation needs a public no-argument constructor and should defer loading its word tables
+ * until the first conversion, see {@link NumberToWordEngines}.
+ */
+public interface NumberToWordEngine {
+
+  /**
+   * returns code of language handled by this engine, for example "en".
+   */
+  String getLanguage();
+
+  /**
+   * Append word representation of given friction number in given currencyCode to given buffer.
+   *
+   * @param number need to represent in word
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param out buffer to which word representation is appended
+   */
+  void render(CharSequence number, String currencyCode, StringBuilder out);
+
+  /**
+   * Append word representation of an amount already split in its whole and fraction parts, in
+   * given currencyCode, to given buffer. Engines should override it to skip the formatting and
+   * parsing of the amount done by this default implementation.
+   *
+   * @param whole whole part of the amount
+   * @param fraction fraction part of the amount, not rendered unless positive
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param out buffer to which word representation is appended
+   */
+  default void render(long whole, long fraction, String currencyCode, StringBuilder out) {
+    render(fraction > 0 ? whole + "." + fraction : Long.toString(whole), currencyCode, out);
+  }
+
+  /**
+   * Give word representation of an amount whose whole part may exceed a long. Engines able to
+   * render any number of digits override it, this default implementation is bounded to longs.
+   *
+   * @param whole whole part of the amount
+   * @param fraction fraction part of the amount, not rendered unless positive
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param out buffer to which word representation is appended
+   * @throws ArithmeticException if the engine is bounded to longs and the whole part exceeds one
+   */
+  default void render(BigInteger whole, long fraction, String currencyCode, StringBuilder out) {
+    render(whole.longValueExact(), fraction, currencyCode, out);
+  }
+
+  /**
+   * Write UTF-8 encoded word representation of given friction number in given currencyCode to
+   * given buffer. Engines should override it to write pre-encoded words instead of encoding the
+   * characters rendered by {@link #render(CharSequence, String, StringBuilder)}.
+   *
+   * @param number need to represent in word
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param out buffer to which encoded words are written
+   * @throws java.nio.BufferOverflowException if the buffer has not enough room left
+   */
+  default void render(CharSequence number, String currencyCode, ByteBuffer out) {
+    StringBuilder sb = new StringBuilder();
+    render(number, currencyCode, sb);
+    Utf8.encode(sb, out);
+  }
+
+  /**
+   * Write UTF-8 encoded word representation of an amount already split in its whole and fraction
+   * parts, in given currencyCode, to given buffer.
+   *
+   * @param whole whole part of the amount
+   * @param fraction fraction part of the amount, not rendered unless positive
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param out buffer to which encoded words are written
+   * @throws java.nio.BufferOverflowException if the buffer has not enough room left
+   */
+  default void render(long whole, long fraction, String currencyCode, ByteBuffer out) {
+    StringBuilder sb = new StringBuilder();
+    render(whole, fraction, currencyCode, sb);
+    Utf8.encode(sb, out);
+  }
+
+  /**
+   * Append word representation of given friction number in given currencyCode and style to given
+   * buffer. Engines able to render styles override it, this default implementation only renders
+   * the default style.
+   *
+   * @param number need to represent in word
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param options style of the words
+   * @param out buffer to which word representation is appended
+   * @throws UnsupportedOperationException if the engine cannot render given style
+   */
+  default void render(CharSequence number, String currencyCode, RenderOptions options,
+      StringBuilder out) {
+    if (!options.isDefault()) {
+      throw new UnsupportedOperationException("Cannot render words of language " + getLanguage()
+          + " in style " + options);
+    }
+    render(number, currencyCode, out);
+  }
+
+  /**
+   * Append word representation of an amount already split in its whole and fraction parts, in
+   * given currencyCode and style, to given buffer.
+   *
+   * @param whole whole part of the amount
+   * @param fraction fraction part of the amount, not rendered unless positive
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param options style of the words
+   * @param out buffer to which word representation is appended
+   * @throws UnsupportedOperationException if the engine cannot render given style
+   */
+  default void render(long whole, long fraction, String currencyCode, RenderOptions options,
+      StringBuilder out) {
+    render(fraction > 0 ? whole + "." + fraction : Long.toString(whole), currencyCode, options,
+        out);
+  }
+
+  /**
+   * Write UTF-8 encoded word representation of given friction number in given currencyCode and
+   * style to given buffer.
+   *
+   * @param number need to represent in word
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @param options style of the words
+   * @param out buffer to which encoded words are written
+   * @throws java.nio.BufferOverflowException if the buffer has not enough room left
+   * @throws UnsupportedOperationException if the engine cannot render given style
+   */
+  default void render(CharSequence number, String currencyCode, RenderOptions options,
+      ByteBuffer out) {
+    StringBuilder sb = new StringBuilder();
+    render(number, currencyCode, options, sb);
+    Utf8.encode(sb, out);
+  }
+
+  /**
+   * returns whether the engine has texts of its own for given currency. Amounts in other
+   * currencies are rendered with the default texts, e.g. Rupees/Paise.
+   *
+   * @param currencyCode of currency in which word are use in convert amount in word
+   * @return true unless the engine tells otherwise
+   */
+  default boolean hasCurrency(String currencyCode) {
+    return true;
+  }
+
+  /**
+   * returns number of digits of the minor unit of given currency, by which amounts given in minor
+   * units or as decimals are split in whole and fraction parts.
+   *
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   * @return 2, as for Rupees/Paise, unless the engine knows better
+   */
+  default int getDecimalDigits(String currencyCode) {
+    return 2;
+  }
+
+  /**
+   * Give word representation of given friction number in given currencyCode.
+   *
+   * @param number need to represent in word
+   * @param currencyCode of currency in which word are use in convert amount in word, may be null
+   */
+  default String convert(CharSequence number, String currencyCode) {
+    StringBuilder sb = new StringBuilder();
+    render(number, currencyCode, sb);
+    return sb.toString();
+  }
+}
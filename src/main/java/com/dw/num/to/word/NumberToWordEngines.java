@@ -0,0 +1,84 @@
+package com.dw.num.to.word;
+
+import java.util.Collections;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry resolving a language code to its {@link NumberToWordEngine}.
+ *
+ * <p>Engines listed in {@code META-INF/services/com.dw.num.to.word.NumberToWordEngine} are
+ * discovered the first time the registry is used. When several jars provide the same language, the
+ * one found first on the class path wins; {@link #register(NumberToWordEngine)} replaces it
+ * explicitly. Discovering an engine only instantiates it, its word tables are loaded on its first
+ * conversion, so languages a service never uses cost nothing.
+ */
+public final class NumberToWordEngines {
+
+  /**
+   * Code of language used when the requested one has no engine.
+   */
+  public static final String DEFAULT_LANGUAGE = EnglishNumberToWord.LANGUAGE;
+
+  private NumberToWordEngines() {}
+
+  /**
+   * Discovered engines, loaded when the registry is first used.
+   */
+  private static final class Registry {
+    private static final ConcurrentHashMap<String, NumberToWordEngine> ENGINES = discover();
+    private static final NumberToWordEngine DEFAULT_ENGINE = ENGINES.get(DEFAULT_LANGUAGE) != null
+        ? ENGINES.get(DEFAULT_LANGUAGE) : new EnglishNumberToWord();
+
+    private static ConcurrentHashMap<String, NumberToWordEngine> discover() {
+      ConcurrentHashMap<String, NumberToWordEngine> engines = new ConcurrentHashMap<>();
+      ServiceLoader<NumberToWordEngine> loader = ServiceLoader.load(NumberToWordEngine.class,
+          NumberToWordEngine.class.getClassLoader());
+      for (NumberToWordEngine engine : loader) {
+        engines.putIfAbsent(engine.getLanguage(), engine);
+      }
+      return engines;
+    }
+  }
+
+  /**
+   * Provide engine of given language.
+   *
+   * @param language code of language
+   * @return engine of given language, or null when no engine handles it
+   */
+  public static NumberToWordEngine get(String language) {
+    if (language == null) {
+      return null;
+    }
+    return Registry.ENGINES.get(language);
+  }
+
+  /**
+   * Provide engine of given language, falling back to English when the language is unknown.
+   *
+   * @param language code of language
+   * @return engine of given language, or the English one
+   */
+  public static NumberToWordEngine getOrDefault(String language) {
+    NumberToWordEngine engine = get(language);
+    return engine != null ? engine : Registry.DEFAULT_ENGINE;
+  }
+
+  /**
+   * Registers given engine, replacing the one already registered for its language.
+   *
+   * @param engine engine to register
+   */
+  public static void register(NumberToWordEngine engine) {
+    Registry.ENGINES.put(engine.getLanguage(), engine);
+  }
+
+  /**
+   * returns codes of all languages having an engine.
+   */
+  public static Set<String> getLanguages() {
+    return Collections.unmodifiableSet(Registry.ENGINES.keySet());
+  }
+}
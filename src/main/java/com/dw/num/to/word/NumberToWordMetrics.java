@@ -0,0 +1,95 @@
+package com.dw.num.to.word;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * {@link NumberToWordMetricsBean} reading the metrics in use at each call, so that it keeps
+ * working when metrics are disabled, reset or enabled again.
+ */
+final class NumberToWordMetrics implements NumberToWordMetricsBean {
+
+  static final String OBJECT_NAME = "com.dw.num.to.word:type=Metrics";
+
+  private static boolean registered;
+
+  private NumberToWordMetrics() {}
+
+  /**
+   * Registers the MXBean with the platform MBean server, once. Failing to register it, e.g. under
+   * a security manager, leaves metrics available through {@link NumberToWord#getMetrics()}.
+   */
+  static synchronized void register() {
+    if (registered) {
+      return;
+    }
+    registered = true;
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      if (!server.isRegistered(name)) {
+        server.registerMBean(new NumberToWordMetrics(), name);
+      }
+    } catch (JMException | SecurityException e) {
+      // JMX is a convenience, the snapshot API remains
+    }
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return ConversionMetrics.current() != null;
+  }
+
+  @Override
+  public void setEnabled(boolean enabled) {
+    ConversionMetrics.setEnabled(enabled);
+  }
+
+  @Override
+  public long getCallCount() {
+    return ConversionMetrics.currentSnapshot().getCallCount();
+  }
+
+  @Override
+  public long getFailureCount() {
+    return ConversionMetrics.currentSnapshot().getFailureCount();
+  }
+
+  @Override
+  public long getCurrencyFallbackCount() {
+    return ConversionMetrics.currentSnapshot().getCurrencyFallbackCount();
+  }
+
+  @Override
+  public long getLanguageFallbackCount() {
+    return ConversionMetrics.currentSnapshot().getLanguageFallbackCount();
+  }
+
+  @Override
+  public long getLatencyP50Nanos() {
+    return ConversionMetrics.currentSnapshot().getLatencyPercentileNanos(50);
+  }
+
+  @Override
+  public long getLatencyP99Nanos() {
+    return ConversionMetrics.currentSnapshot().getLatencyPercentileNanos(99);
+  }
+
+  @Override
+  public Map<String, Long> getCallCountBySeries() {
+    Map<String, Long> counts = new TreeMap<>();
+    for (MetricsSnapshot.Series series : ConversionMetrics.currentSnapshot().getSeries()) {
+      counts.put(series.getLanguage() + "/" + series.getCurrency(), series.getCallCount());
+    }
+    return counts;
+  }
+
+  @Override
+  public void reset() {
+    ConversionMetrics.reset();
+  }
+}
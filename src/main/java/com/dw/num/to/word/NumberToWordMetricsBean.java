@@ -0,0 +1,63 @@
+package com.dw.num.to.word;
+
+import java.util.Map;
+import javax.management.MXBean;
+
+/**
+ * JMX view of the metrics of {@link NumberToWord} conversions, registered as an MXBean named
+ * {@code com.dw.num.to.word:type=Metrics} once metrics are enabled.
+ */
+@MXBean
+public interface NumberToWordMetricsBean {
+
+  /**
+   * returns whether conversions are measured.
+   */
+  boolean isEnabled();
+
+  /**
+   * Enables or disables metrics, see {@link NumberToWord#setMetricsEnabled(boolean)}.
+   */
+  void setEnabled(boolean enabled);
+
+  /**
+   * returns number of conversions, failed ones included.
+   */
+  long getCallCount();
+
+  /**
+   * returns number of conversions whose amount could not be parsed.
+   */
+  long getFailureCount();
+
+  /**
+   * returns number of conversions whose currency code was unknown and fell back to Rupees/Paise.
+   */
+  long getCurrencyFallbackCount();
+
+  /**
+   * returns number of conversions whose language was unknown and fell back to English.
+   */
+  long getLanguageFallbackCount();
+
+  /**
+   * returns median latency of successful conversions in nanoseconds, power of two resolution.
+   */
+  long getLatencyP50Nanos();
+
+  /**
+   * returns 99th percentile latency of successful conversions in nanoseconds, power of two
+   * resolution.
+   */
+  long getLatencyP99Nanos();
+
+  /**
+   * returns number of conversions of each language and currency, keyed "language/currency".
+   */
+  Map<String, Long> getCallCountBySeries();
+
+  /**
+   * Drops the counters recorded so far.
+   */
+  void reset();
+}
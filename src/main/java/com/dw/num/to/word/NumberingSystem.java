@@ -0,0 +1,36 @@
+package com.dw.num.to.word;
+
+/**
+ * How the digits of a number are grouped under the scale words of a {@link LanguageDefinition}.
+ *
+ * <p>Both systems start with the hundreds, the three lowest digits, and the first scale word,
+ * thousand. They differ in the size of the groups above it: two digits in the Indian system
+ * (thousand, lakh, crore), three in the international one (thousand, million, billion). The
+ * largest scale word of a definition is repeated for numbers beyond it, "One Crore Crore" or
+ * "One Billion Billion".
+ */
+public enum NumberingSystem {
+
+  /**
+   * Groups of two digits above the thousand: 1,00,00,000 is one crore.
+   */
+  INDIAN(2),
+
+  /**
+   * Groups of three digits above the thousand: 100,000,000 is one hundred million.
+   */
+  INTERNATIONAL(3);
+
+  private final int groupDigits;
+
+  NumberingSystem(int groupDigits) {
+    this.groupDigits = groupDigits;
+  }
+
+  /**
+   * returns number of digits of each group above the thousand.
+   */
+  public int getGroupDigits() {
+    return groupDigits;
+  }
+}
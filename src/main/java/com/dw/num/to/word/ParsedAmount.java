@@ -0,0 +1,90 @@
+package com.dw.num.to.word;
+
+import java.util.List;
+
+/**
+ * Amount read back from its words by {@link CompiledNumberToWordEngine#parse(CharSequence)}: the
+ * whole and fraction parts as written and the currencies whose texts the words use.
+ *
+ * <p>Several currencies may share their texts, e.g. "Dollar" and "Cent", so the words tell a set
+ * of candidate currencies rather than one. To check words against an amount in a known currency,
+ * compare the parts and look for the code among {@link #getCurrencyCodes()}, or expect
+ * {@link #isDefaultCurrency()} when the amount was rendered without a currency code.
+ */
+public final class ParsedAmount {
+
+  private final long whole;
+  private final long fraction;
+  private final List<String> currencyCodes;
+  private final boolean defaultCurrency;
+
+  /**
+   * Creates an amount read from words.
+   *
+   * @param currencyCodes unmodifiable sorted codes of the currencies whose texts are used
+   */
+  ParsedAmount(long whole, long fraction, List<String> currencyCodes, boolean defaultCurrency) {
+    this.whole = whole;
+    this.fraction = fraction;
+    this.currencyCodes = currencyCodes;
+    this.defaultCurrency = defaultCurrency;
+  }
+
+  /**
+   * returns whole part of the amount.
+   */
+  public long getWhole() {
+    return whole;
+  }
+
+  /**
+   * returns fraction part of the amount as written, e.g. 50 for "Fifty Paise", 0 when the words
+   * have none.
+   */
+  public long getFraction() {
+    return fraction;
+  }
+
+  /**
+   * returns codes of the currencies whose texts the words use, sorted, empty when the words name
+   * no known currency.
+   */
+  public List<String> getCurrencyCodes() {
+    return currencyCodes;
+  }
+
+  /**
+   * returns whether the words use the texts rendered for unknown or missing currency codes, e.g.
+   * Rupees/Paise.
+   */
+  public boolean isDefaultCurrency() {
+    return defaultCurrency;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ParsedAmount)) {
+      return false;
+    }
+    ParsedAmount other = (ParsedAmount) obj;
+    return whole == other.whole && fraction == other.fraction
+        && defaultCurrency == other.defaultCurrency && currencyCodes.equals(other.currencyCodes);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Long.hashCode(whole);
+    result = 31 * result + Long.hashCode(fraction);
+    result = 31 * result + currencyCodes.hashCode();
+    return 31 * result + (defaultCurrency ? 1 : 0);
+  }
+
+  @Override
+  public String toString() {
+    return "ParsedAmount[" + whole + (fraction > 0 ? ", fraction " + fraction : "")
+        + (defaultCurrency ? ", default currency" : "") + ", " + currencyCodes + "]";
+  }
+}
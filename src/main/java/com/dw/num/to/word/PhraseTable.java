@@ -0,0 +1,616 @@
+package com.dw.num.to.word;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Phrase tables a {@link LanguageDefinition} compiles into, and the composer shared by all
+ * languages that walks them.
+ *
+ * <p>Every phrase a number can be made of is rendered once, when the table is built: the words
+ * for 0-99, the hundreds phrase for 0-999 and, for every scale word below the largest one, the
+ * "X Thousand", "X Lacs" or "X Million" phrases of each value of its group. Converting a number
+ * then comes down to walking a flat plan of the groups a long can hold, from its highest digit
+ * down: each slot of the plan is a power of ten and the phrases of the group starting there, or
+ * the largest scale word (one crore, one quintillion) between two chunks, so that every group costs
+ * one division by a constant and one lookup. Longer numbers are cut in chunks below the largest
+ * scale word and rendered in a single pass over their digits, so "crore crore" amounts need no
+ * recursion.
+ *
+ * <p>Each table also exists encoded in UTF-8, so that byte output copies pre-encoded phrases
+ * instead of building a String and running it through a charset encoder.
+ */
+final class PhraseTable {
+
+  private static final int HUNDRED = 100;
+  private static final int THOUSAND = 1000;
+
+  /**
+   * Powers of ten up to the largest one a long can hold.
+   */
+  private static final int MAX_POWER = 18;
+  private static final long[] POWERS = new long[MAX_POWER + 1];
+
+  /**
+   * Largest number of slots of a plan: a group per digit and the scale words between chunks.
+   */
+  static final int MAX_SLOTS = 2 * (MAX_POWER + 1);
+
+  static {
+    POWERS[0] = 1;
+    for (int i = 1; i <= MAX_POWER; i++) {
+      POWERS[i] = POWERS[i - 1] * 10;
+    }
+  }
+
+  private final String space;
+  private final String chunkText;
+  /**
+   * Text closing every amount, e.g. " Only", empty when amounts are written without it.
+   */
+  private final String onlySuffix;
+  private final int chunkDigits;
+  private final String[] belowHundred;
+
+  private final byte[] spaceUtf8;
+  private final byte[] chunkTextUtf8;
+  private final byte[] onlySuffixUtf8;
+  private final byte[][] belowHundredUtf8;
+
+  /**
+   * Powers of ten of the slots of the plan, highest first.
+   */
+  private final int[] slotExponents;
+  /**
+   * Phrases of the group of each slot by its value, null for the largest scale word.
+   */
+  private final String[][] slotPhrases;
+  private final byte[][][] slotPhrasesUtf8;
+  /**
+   * Index of the slot holding each digit of a long, by its power of ten.
+   */
+  private final int[] firstSlots;
+  /**
+   * Identifies the plan, which only depends on the size of the groups and the number of scale
+   * words: tables with the same plan split numbers into the same groups.
+   */
+  private final int plan;
+
+  /**
+   * Compiles the phrase tables of a language.
+   *
+   * @param definition validated definition of the language
+   */
+  PhraseTable(LanguageDefinition definition) {
+    this(definition, true);
+  }
+
+  /**
+   * Compiles the phrase tables of a language, closing amounts with its only word or not.
+   *
+   * @param definition validated definition of the language
+   * @param closeWithOnly whether amounts end with the only word of the language
+   */
+  PhraseTable(LanguageDefinition definition, boolean closeWithOnly) {
+    this.space = definition.separator();
+    this.onlySuffix = closeWithOnly ? space + definition.only() : "";
+    this.belowHundred = definition.belowHundred();
+    int groupDigits = definition.getNumberingSystem().getGroupDigits();
+    int groupSize = groupDigits == 2 ? HUNDRED : THOUSAND;
+    String[] scales = definition.scales();
+    this.chunkText = scales[scales.length - 1];
+    this.chunkDigits = 3 + (scales.length - 1) * groupDigits;
+    this.plan = groupDigits * MAX_SLOTS + scales.length;
+
+    String connector = definition.hundredConnector() == null ? space
+        : space + definition.hundredConnector() + space;
+    String[] belowThousand = new String[THOUSAND];
+    belowThousand[0] = "";
+    for (int i = 1; i < THOUSAND; i++) {
+      int rest = i % HUNDRED;
+      if (i < HUNDRED) {
+        belowThousand[i] = belowHundred[i];
+      } else if (definition.irregular(i) != null) {
+        belowThousand[i] = definition.irregular(i);
+      } else if (rest == 0) {
+        belowThousand[i] = definition.hundreds(i / HUNDRED);
+      } else {
+        belowThousand[i] = definition.hundreds(i / HUNDRED) + connector + belowHundred[rest];
+      }
+    }
+    String[] groupWords = groupDigits == 2 ? belowHundred : belowThousand;
+    // Phrases of the groups above the hundreds, thousand first, by the value of the group
+    String[][] groups = new String[scales.length - 1][];
+    for (int group = 0; group < groups.length; group++) {
+      String[] phrases = new String[groupSize];
+      phrases[0] = "";
+      for (int i = 1; i < groupSize; i++) {
+        phrases[i] = groupWords[i] + space + scales[group];
+      }
+      groups[group] = phrases;
+    }
+
+    this.spaceUtf8 = utf8(space);
+    this.chunkTextUtf8 = utf8(chunkText);
+    this.onlySuffixUtf8 = utf8(onlySuffix);
+    this.belowHundredUtf8 = utf8(belowHundred);
+    byte[][] belowThousandUtf8 = utf8(belowThousand);
+    byte[][][] groupsUtf8 = new byte[groups.length][][];
+    for (int group = 0; group < groups.length; group++) {
+      groupsUtf8[group] = utf8(groups[group]);
+    }
+
+    // Slots from the lowest digit up, a scale word slot at the start of every chunk but the first
+    int[] exponents = new int[MAX_SLOTS];
+    int[] tables = new int[exponents.length];
+    int count = 0;
+    for (int exponent = 0; exponent <= MAX_POWER; ) {
+      if (exponent > 0) {
+        exponents[count] = exponent;
+        tables[count++] = -1;
+      }
+      exponents[count] = exponent;
+      tables[count++] = groups.length;
+      exponent += 3;
+      for (int group = 0; group < groups.length && exponent <= MAX_POWER; group++) {
+        exponents[count] = exponent;
+        tables[count++] = group;
+        exponent += groupDigits;
+      }
+    }
+    this.slotExponents = new int[count];
+    this.slotPhrases = new String[count][];
+    this.slotPhrasesUtf8 = new byte[count][][];
+    this.firstSlots = new int[MAX_POWER + 1];
+    for (int slot = 0; slot < count; slot++) {
+      int from = count - 1 - slot;
+      slotExponents[slot] = exponents[from];
+      if (tables[from] == groups.length) {
+        slotPhrases[slot] = belowThousand;
+        slotPhrasesUtf8[slot] = belowThousandUtf8;
+      } else if (tables[from] >= 0) {
+        slotPhrases[slot] = groups[tables[from]];
+        slotPhrasesUtf8[slot] = groupsUtf8[tables[from]];
+      }
+    }
+    for (int digit = MAX_POWER, slot = 0; digit >= 0; digit--) {
+      while (slotPhrases[slot] == null || slotExponents[slot] > digit) {
+        slot++;
+      }
+      firstSlots[digit] = slot;
+    }
+  }
+
+  /**
+   * returns UTF-8 encoding of given text.
+   */
+  static byte[] utf8(String text) {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[][] utf8(String[] phrases) {
+    byte[][] encoded = new byte[phrases.length][];
+    for (int i = 0; i < phrases.length; i++) {
+      encoded[i] = utf8(phrases[i]);
+    }
+    return encoded;
+  }
+
+  /**
+   * returns word representation of the number < 100 (0-99), or empty text when out of range.
+   *
+   * @param number An integer between 0 and 99
+   */
+  String wordBelowHundred(int number) {
+    if (number < 0 || number >= HUNDRED) {
+      return "";
+    }
+    return belowHundred[number];
+  }
+
+  /**
+   * Append word representation of given nonfriction number to given buffer. Negative numbers
+   * have no representation.
+   *
+   * @param number need to represent in word
+   * @param out buffer to which word representation is appended
+   */
+  void appendPrimitive(long number, StringBuilder out) {
+    if (number < 0) {
+      return;
+    }
+    if (number < HUNDRED) {
+      out.append(belowHundred[(int) number]);
+      return;
+    }
+    appendSlots(number, out.length(), out);
+  }
+
+  /**
+   * Write UTF-8 encoded word representation of given nonfriction number to given buffer. Negative
+   * numbers have no representation.
+   *
+   * @param number need to represent in word
+   * @param out buffer to which encoded words are written
+   * @throws java.nio.BufferOverflowException if the buffer has not enough room left
+   */
+  void appendPrimitive(long number, ByteBuffer out) {
+    if (number < 0) {
+      return;
+    }
+    if (number < HUNDRED) {
+      out.put(belowHundredUtf8[(int) number]);
+      return;
+    }
+    appendSlots(number, out.position(), out);
+  }
+
+  /**
+   * Append the phrases of the slots of given positive number, from the one holding its highest
+   * digit down.
+   */
+  private void appendSlots(long number, int start, StringBuilder out) {
+    for (int slot = firstSlots[exponent(number)]; slot < slotExponents.length; slot++) {
+      String[] phrases = slotPhrases[slot];
+      if (phrases == null) {
+        appendGroup(chunkText, start, out);
+      } else {
+        appendGroup(phrases[slotValue(number, slotExponents[slot], phrases.length)], start, out);
+      }
+    }
+  }
+
+  private void appendSlots(long number, int start, ByteBuffer out) {
+    for (int slot = firstSlots[exponent(number)]; slot < slotExponents.length; slot++) {
+      byte[][] phrases = slotPhrasesUtf8[slot];
+      if (phrases == null) {
+        appendGroup(chunkTextUtf8, start, out);
+      } else {
+        appendGroup(phrases[slotValue(number, slotExponents[slot], phrases.length)], start, out);
+      }
+    }
+  }
+
+  /**
+   * returns the power of ten of the highest digit of given positive number.
+   */
+  private static int exponent(long number) {
+    // log10(2) is about 1233 / 4096: the estimate is exact or one below.
+    int exponent = (Long.SIZE - 1 - Long.numberOfLeadingZeros(number)) * 1233 >>> 12;
+    return exponent < MAX_POWER && number >= POWERS[exponent + 1] ? exponent + 1 : exponent;
+  }
+
+  /**
+   * returns value of the group of given size starting at given power of ten of given number.
+   */
+  private static int slotValue(long number, int exponent, int size) {
+    long value = dividePow10(number, exponent);
+    return (int) (size == HUNDRED ? value % HUNDRED : value % THOUSAND);
+  }
+
+  /**
+   * returns given number divided by given power of ten. Every case divides by a constant, which
+   * the JIT turns into a multiplication, where dividing by a power held in a field would cost a
+   * full 64-bit division for every chunk.
+   */
+  private static long dividePow10(long number, int exponent) {
+    switch (exponent) {
+      case 0:
+        return number;
+      case 1:
+        return number / 10L;
+      case 2:
+        return number / 100L;
+      case 3:
+        return number / 1_000L;
+      case 4:
+        return number / 10_000L;
+      case 5:
+        return number / 100_000L;
+      case 6:
+        return number / 1_000_000L;
+      case 7:
+        return number / 10_000_000L;
+      case 8:
+        return number / 100_000_000L;
+      case 9:
+        return number / 1_000_000_000L;
+      case 10:
+        return number / 10_000_000_000L;
+      case 11:
+        return number / 100_000_000_000L;
+      case 12:
+        return number / 1_000_000_000_000L;
+      case 13:
+        return number / 10_000_000_000_000L;
+      case 14:
+        return number / 100_000_000_000_000L;
+      case 15:
+        return number / 1_000_000_000_000_000L;
+      case 16:
+        return number / 10_000_000_000_000_000L;
+      case 17:
+        return number / 100_000_000_000_000_000L;
+      case 18:
+        return number / 1_000_000_000_000_000_000L;
+      default:
+        throw new IllegalArgumentException("Unsupported power of ten: " + exponent);
+    }
+  }
+
+  /**
+   * Append word representation of the signed digits in given range, however many they are, to
+   * given buffer. The digits are walked once, a chunk at a time, so time and memory are linear in
+   * their number. Negative numbers have no representation.
+   *
+   * @param number characters holding the digits
+   * @param begin inclusive start of the digits, a sign included
+   * @param end exclusive end of the digits
+   * @param out buffer to which word representation is appended
+   * @throws NumberFormatException if the range is not a signed run of digits
+   */
+  void appendDigits(CharSequence number, int begin, int end, StringBuilder out) {
+    int from = digitsBegin(number, begin, end);
+    if (from < 0) {
+      return;
+    }
+    if (end - from <= AmountParser.MAX_LONG_DIGITS) {
+      appendPrimitive(AmountParser.parseLong(number, from, end), out);
+      return;
+    }
+    int start = out.length();
+    for (int to = from + (end - from - 1) % chunkDigits + 1; ; to += chunkDigits) {
+      long chunk = chunk(number, from, to);
+      if (chunk > 0) {
+        appendSlots(chunk, start, out);
+      }
+      if (to == end) {
+        return;
+      }
+      // The leading chunk is not zero, so every boundary gets its scale word.
+      appendGroup(chunkText, start, out);
+      from = to;
+    }
+  }
+
+  /**
+   * Write UTF-8 encoded word representation of the signed digits in given range, however many
+   * they are, to given buffer. Negative numbers have no representation.
+   *
+   * @param number characters holding the digits
+   * @param begin inclusive start of the digits, a sign included
+   * @param end exclusive end of the digits
+   * @param out buffer to which encoded words are written
+   * @throws NumberFormatException if the range is not a signed run of digits
+   * @throws java.nio.BufferOverflowException if the buffer has not enough room left
+   */
+  void appendDigits(CharSequence number, int begin, int end, ByteBuffer out) {
+    int from = digitsBegin(number, begin, end);
+    if (from < 0) {
+      return;
+    }
+    if (end - from <= AmountParser.MAX_LONG_DIGITS) {
+      appendPrimitive(AmountParser.parseLong(number, from, end), out);
+      return;
+    }
+    int start = out.position();
+    for (int to = from + (end - from - 1) % chunkDigits + 1; ; to += chunkDigits) {
+      long chunk = chunk(number, from, to);
+      if (chunk > 0) {
+        appendSlots(chunk, start, out);
+      }
+      if (to == end) {
+        return;
+      }
+      appendGroup(chunkTextUtf8, start, out);
+      from = to;
+    }
+  }
+
+  /**
+   * returns index of the first significant digit of given range, or -1 when the number is
+   * negative, after checking that the range holds a sign and digits only.
+   */
+  private static int digitsBegin(CharSequence number, int begin, int end) {
+    int index = begin;
+    if (index < end && (number.charAt(index) == '-' || number.charAt(index) == '+')) {
+      index++;
+    }
+    if (index >= end) {
+      throw new NumberFormatException("For input string: \"" + number + "\"");
+    }
+    int from = -1;
+    for (int i = index; i < end; i++) {
+      int digit = Character.digit(number.charAt(i), 10);
+      if (digit < 0) {
+        throw new NumberFormatException("For input string: \"" + number + "\"");
+      }
+      if (from < 0 && digit > 0) {
+        from = i;
+      }
+    }
+    if (from < 0) {
+      // Zero, whatever its sign
+      return end - 1;
+    }
+    return number.charAt(begin) == '-' ? -1 : from;
+  }
+
+  private static long chunk(CharSequence number, int from, int to) {
+    long value = 0;
+    for (int i = from; i < to; i++) {
+      value = value * 10 + Character.digit(number.charAt(i), 10);
+    }
+    return value;
+  }
+
+  private void appendGroup(String phrase, int start, StringBuilder out) {
+    if (phrase.isEmpty()) {
+      return;
+    }
+    if (out.length() > start) {
+      out.append(space);
+    }
+    out.append(phrase);
+  }
+
+  private void appendGroup(byte[] phrase, int start, ByteBuffer out) {
+    if (phrase.length == 0) {
+      return;
+    }
+    if (out.position() > start) {
+      out.put(spaceUtf8);
+    }
+    out.put(phrase);
+  }
+
+  /**
+   * Append word representation of a parsed amount, followed by its currency texts, to given
+   * buffer. The whole part is split into groups unless already split by a table with the same
+   * plan, e.g. for another language of the same numbering system.
+   *
+   * @param amount parsed amount
+   * @param currency texts of the currency
+   * @param out buffer to which word representation is appended
+   * @throws NumberFormatException if the whole part is beyond a long and not a run of digits
+   */
+  void appendAmount(AmountGroups amount, CurrencyText currency, StringBuilder out) {
+    long whole = amount.whole();
+    if (amount.isBeyondLong()) {
+      appendDigits(amount.number(), 0, amount.wholeEnd(), out);
+    } else if (whole < HUNDRED) {
+      appendPrimitive(whole, out);
+    } else {
+      int start = out.length();
+      int[] values = amount.groupValues();
+      for (int slot = split(amount); slot < slotExponents.length; slot++) {
+        String[] phrases = slotPhrases[slot];
+        appendGroup(phrases == null ? chunkText : phrases[values[slot]], start, out);
+      }
+    }
+    appendCurrencyText(amount.fraction(), currency, out);
+  }
+
+  /**
+   * Write UTF-8 encoded word representation of a parsed amount, followed by its currency texts,
+   * to given buffer.
+   *
+   * @param amount parsed amount
+   * @param currency texts of the currency
+   * @param out buffer to which encoded words are written
+   * @throws NumberFormatException if the whole part is beyond a long and not a run of digits
+   * @throws java.nio.BufferOverflowException if the buffer has not enough room left
+   */
+  void appendAmount(AmountGroups amount, CurrencyText currency, ByteBuffer out) {
+    long whole = amount.whole();
+    if (amount.isBeyondLong()) {
+      appendDigits(amount.number(), 0, amount.wholeEnd(), out);
+    } else if (whole < HUNDRED) {
+      appendPrimitive(whole, out);
+    } else {
+      int start = out.position();
+      int[] values = amount.groupValues();
+      for (int slot = split(amount); slot < slotExponents.length; slot++) {
+        byte[][] phrases = slotPhrasesUtf8[slot];
+        appendGroup(phrases == null ? chunkTextUtf8 : phrases[values[slot]], start, out);
+      }
+    }
+    appendCurrencyText(amount.fraction(), currency, out);
+  }
+
+  /**
+   * Write UTF-8 encoded word representation of an amount, followed by its currency texts, to
+   * given buffer.
+   *
+   * @param primitive whole part of the amount
+   * @param fraction fraction part of the amount, not written unless positive
+   * @param currency texts of the currency
+   * @param out buffer to which encoded words are written
+   * @throws java.nio.BufferOverflowException if the buffer has not enough room left
+   */
+  void appendAmount(long primitive, long fraction, CurrencyText currency, ByteBuffer out) {
+    appendPrimitive(primitive, out);
+    appendCurrencyText(fraction, currency, out);
+  }
+
+  /**
+   * Write UTF-8 encoded word representation of an amount whose whole part is given as a range of
+   * digits of any length, followed by its currency texts, to given buffer.
+   *
+   * @param number characters holding the whole part
+   * @param begin inclusive start of the whole part, a sign included
+   * @param end exclusive end of the whole part
+   * @param fraction fraction part of the amount, not written unless positive
+   * @param currency texts of the currency
+   * @param out buffer to which encoded words are written
+   * @throws NumberFormatException if the range is not a signed run of digits
+   * @throws java.nio.BufferOverflowException if the buffer has not enough room left
+   */
+  void appendAmount(CharSequence number, int begin, int end, long fraction,
+      CurrencyText currency, ByteBuffer out) {
+    appendDigits(number, begin, end, out);
+    appendCurrencyText(fraction, currency, out);
+  }
+
+  /**
+   * Splits the whole part of given amount, at least 100, into the values of the groups of this
+   * plan, unless it already is.
+   *
+   * @return slot holding its highest digit
+   */
+  private int split(AmountGroups amount) {
+    if (amount.isSplitFor(plan)) {
+      return amount.firstSlot();
+    }
+    long whole = amount.whole();
+    int[] values = amount.groupValues();
+    int first = firstSlots[exponent(whole)];
+    for (int slot = first; slot < slotExponents.length; slot++) {
+      String[] phrases = slotPhrases[slot];
+      if (phrases != null) {
+        values[slot] = slotValue(whole, slotExponents[slot], phrases.length);
+      }
+    }
+    amount.splitFor(plan, first);
+    return first;
+  }
+
+  /**
+   * Append the currency texts of an amount, whose whole part is already written, to given buffer.
+   *
+   * @param fraction fraction part of the amount, not written unless positive
+   * @param currency texts of the currency
+   * @param out buffer to which word representation is appended
+   */
+  void appendCurrencyText(long fraction, CurrencyText currency, StringBuilder out) {
+    out.append(space);
+    out.append(currency.wholeValText);
+    if (fraction > 0) {
+      out.append(space);
+
+      // Write fraction part
+      appendPrimitive(fraction, out);
+      if (currency.decimalValText != null) {
+        out.append(space);
+        out.append(currency.decimalValText);
+      }
+    }
+    out.append(onlySuffix);
+  }
+
+  private void appendCurrencyText(long fraction, CurrencyText currency, ByteBuffer out) {
+    out.put(spaceUtf8);
+    out.put(currency.wholeValUtf8);
+    if (fraction > 0) {
+      out.put(spaceUtf8);
+
+      // Write fraction part
+      appendPrimitive(fraction, out);
+      if (currency.decimalValUtf8 != null) {
+        out.put(spaceUtf8);
+        out.put(currency.decimalValUtf8);
+      }
+    }
+    out.put(onlySuffixUtf8);
+  }
+}
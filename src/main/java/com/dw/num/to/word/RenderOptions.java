@@ -0,0 +1,216 @@
+package com.dw.num.to.word;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Style of the words of an amount: their case, the text between them, the joint of composed tens
+ * and units, the word after the hundreds and whether "Only" closes the amount.
+ *
+ * <pre>
+ * RenderOptions cheque = RenderOptions.builder().letterCase(LetterCase.UPPER).build();
+ * RenderOptions british = RenderOptions.builder().tensSeparator("-").hundredConnector("and")
+ *     .build();
+ * NumberToWord.numToWord("121.50", "en", null, british);
+ * // One Hundred and Twenty-One Rupees Fifty Paise Only
+ * </pre>
+ *
+ * <p>Engines do not rework rendered words: they compile phrase tables of each distinct style on
+ * its first use and keep them, so a styled conversion costs as much as one in the default style.
+ * Options are immutable and compare by value, reuse them rather than building them per
+ * conversion.
+ */
+public final class RenderOptions {
+
+  /**
+   * Words as the language defines them.
+   */
+  public static final RenderOptions DEFAULT = builder().build();
+
+  private final LetterCase letterCase;
+  private final String separator;
+  private final String tensSeparator;
+  private final String hundredConnector;
+  private final boolean onlySuffix;
+  private final int hash;
+
+  private RenderOptions(Builder builder) {
+    this.letterCase = builder.letterCase;
+    this.separator = builder.separator;
+    this.tensSeparator = builder.tensSeparator;
+    this.hundredConnector = builder.hundredConnector;
+    this.onlySuffix = builder.onlySuffix;
+    this.hash = Objects.hash(letterCase, separator, tensSeparator, hundredConnector, onlySuffix);
+  }
+
+  /**
+   * Starts options in the default style, to change with the setters of the builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * returns case of the words.
+   */
+  public LetterCase getLetterCase() {
+    return letterCase;
+  }
+
+  /**
+   * returns text placed between words, or null for that of the language.
+   */
+  public String getSeparator() {
+    return separator;
+  }
+
+  /**
+   * returns text joining tens and units of composed words, or null for that of the language.
+   */
+  public String getTensSeparator() {
+    return tensSeparator;
+  }
+
+  /**
+   * returns word placed between hundreds and the rest of a group, or null for that of the
+   * language.
+   */
+  public String getHundredConnector() {
+    return hundredConnector;
+  }
+
+  /**
+   * returns whether the word closing every amount, e.g. Only, is written.
+   */
+  public boolean hasOnlySuffix() {
+    return onlySuffix;
+  }
+
+  /**
+   * returns whether these options ask for the words as the language defines them.
+   */
+  boolean isDefault() {
+    return this == DEFAULT || equals(DEFAULT);
+  }
+
+  /**
+   * returns given text of a language, whose words are separated by given separator, in this
+   * style: separated by the separator of these options and in their case.
+   */
+  String style(String text, String languageSeparator) {
+    if (text == null) {
+      return null;
+    }
+    String separated = separator == null ? text : text.replace(languageSeparator, separator);
+    return letterCase.apply(separated);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof RenderOptions)) {
+      return false;
+    }
+    RenderOptions other = (RenderOptions) obj;
+    return letterCase == other.letterCase && onlySuffix == other.onlySuffix
+        && Objects.equals(separator, other.separator)
+        && Objects.equals(tensSeparator, other.tensSeparator)
+        && Objects.equals(hundredConnector, other.hundredConnector);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return "RenderOptions[" + letterCase + (separator != null ? ", separator '" + separator + "'"
+        : "") + (tensSeparator != null ? ", tensSeparator '" + tensSeparator + "'" : "")
+        + (hundredConnector != null ? ", hundredConnector '" + hundredConnector + "'" : "")
+        + (onlySuffix ? "" : ", no only suffix") + "]";
+  }
+
+  /**
+   * Collects the parts of {@link RenderOptions}, each one as the language defines it unless set.
+   */
+  public static final class Builder {
+
+    private LetterCase letterCase = LetterCase.AS_DEFINED;
+    private String separator;
+    private String tensSeparator;
+    private String hundredConnector;
+    private boolean onlySuffix = true;
+
+    private Builder() {}
+
+    /**
+     * Sets the case of the words, including currency texts, {@link LetterCase#AS_DEFINED} by
+     * default.
+     */
+    public Builder letterCase(LetterCase letterCase) {
+      this.letterCase = letterCase;
+      return this;
+    }
+
+    /**
+     * Sets the text placed between words, also within multi-word currency texts, e.g. "_".
+     */
+    public Builder separator(String separator) {
+      this.separator = separator;
+      return this;
+    }
+
+    /**
+     * Sets the text joining tens and units, e.g. "-" for "Twenty-One". Applies to languages
+     * composing 21-99 from their tens and units words, such as English.
+     */
+    public Builder tensSeparator(String tensSeparator) {
+      this.tensSeparator = tensSeparator;
+      return this;
+    }
+
+    /**
+     * Sets the word placed between hundreds and the tens or units following them, e.g. "and" for
+     * "One Hundred and Five". It is written in the case of the options, as given otherwise.
+     */
+    public Builder hundredConnector(String word) {
+      this.hundredConnector = word;
+      return this;
+    }
+
+    /**
+     * Sets whether the word closing every amount, e.g. Only, is written; true by default.
+     */
+    public Builder onlySuffix(boolean onlySuffix) {
+      this.onlySuffix = onlySuffix;
+      return this;
+    }
+
+    /**
+     * Validates the options and builds them.
+     *
+     * @throws IllegalArgumentException listing every problem of the options
+     */
+    public RenderOptions build() {
+      List<String> problems = new ArrayList<>();
+      if (letterCase == null) {
+        problems.add("letterCase is missing");
+      }
+      if (separator != null && separator.isEmpty()) {
+        problems.add("separator is empty");
+      }
+      if (hundredConnector != null && hundredConnector.trim().isEmpty()) {
+        problems.add("hundredConnector is blank");
+      }
+      if (!problems.isEmpty()) {
+        throw new IllegalArgumentException("Invalid render options: "
+            + String.join(", ", problems));
+      }
+      return new RenderOptions(this);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.dw.num.to.word;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes characters to UTF-8 straight into a byte buffer, and decodes them back, without a
+ * {@code CharsetEncoder}, a {@code CharsetDecoder} or an intermediate array.
+ */
+final class Utf8 {
+
+  /**
+   * Largest number of bytes a single char encodes to.
+   */
+  static final int MAX_BYTES_PER_CHAR = 3;
+
+  private static final byte REPLACEMENT = '?';
+
+  private Utf8() {}
+
+  /**
+   * Encodes given characters at the position of given buffer, which must have room for
+   * {@code MAX_BYTES_PER_CHAR} bytes per character. Unpaired surrogates are written as '?'.
+   *
+   * @param chars characters to encode
+   * @param out buffer receiving the bytes
+   */
+  static void encode(CharSequence chars, ByteBuffer out) {
+    int length = chars.length();
+    for (int i = 0; i < length; i++) {
+      char ch = chars.charAt(i);
+      if (ch < 0x80) {
+        out.put((byte) ch);
+      } else if (ch < 0x800) {
+        out.put((byte) (0xc0 | (ch >> 6)));
+        out.put((byte) (0x80 | (ch & 0x3f)));
+      } else if (Character.isHighSurrogate(ch) && i + 1 < length
+          && Character.isLowSurrogate(chars.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(ch, chars.charAt(++i));
+        out.put((byte) (0xf0 | (codePoint >> 18)));
+        out.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+        out.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+        out.put((byte) (0x80 | (codePoint & 0x3f)));
+      } else if (Character.isSurrogate(ch)) {
+        out.put(REPLACEMENT);
+      } else {
+        out.put((byte) (0xe0 | (ch >> 12)));
+        out.put((byte) (0x80 | ((ch >> 6) & 0x3f)));
+        out.put((byte) (0x80 | (ch & 0x3f)));
+      }
+    }
+  }
+
+  /**
+   * Decodes the UTF-8 bytes in given range of given buffer, read at absolute positions so that
+   * the buffer is left untouched, and appends their characters to given builder. The bytes must
+   * be well-formed, as written by {@link #encode(CharSequence, ByteBuffer)}.
+   *
+   * @param in buffer holding the bytes
+   * @param from absolute position of the first byte
+   * @param to absolute position following the last byte
+   * @param out builder receiving the characters
+   */
+  static void decode(ByteBuffer in, int from, int to, StringBuilder out) {
+    int position = from;
+    while (position < to) {
+      int lead = in.get(position);
+      if (lead >= 0) {
+        out.append((char) lead);
+        position++;
+      } else if ((lead & 0xe0) == 0xc0) {
+        out.append((char) ((lead & 0x1f) << 6 | in.get(position + 1) & 0x3f));
+        position += 2;
+      } else if ((lead & 0xf0) == 0xe0) {
+        out.append((char) ((lead & 0x0f) << 12 | (in.get(position + 1) & 0x3f) << 6
+            | in.get(position + 2) & 0x3f));
+        position += 3;
+      } else {
+        out.appendCodePoint((lead & 0x07) << 18 | (in.get(position + 1) & 0x3f) << 12
+            | (in.get(position + 2) & 0x3f) << 6 | in.get(position + 3) & 0x3f);
+        position += 4;
+      }
+    }
+  }
+}
@@ -0,0 +1,297 @@
+package com.dw.num.to.word;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Column of amounts in words, laid out as a variable width vector: the UTF-8 words of every row
+ * follow each other in one direct buffer, and row {@code i} spans the bytes from
+ * {@code offset(i)} to {@code offset(i + 1)}.
+ *
+ * <pre>
+ * WordColumn words = new WordColumn();
+ * for (long[] batch : batches) {
+ *   words.reset();
+ *   NumberToWordBulk.render(batch, "hi", "INR", words);
+ *   for (int row = 0; row &lt; words.size(); row++) {
+ *     channel.write(words.bytes(row));
+ *   }
+ * }
+ * </pre>
+ *
+ * <p>Engines write the pre-encoded words of a row into a heap scratch buffer owned by the column,
+ * which is then copied into the column in one put, so filling it creates no object per row. Rows
+ * are read back without copying through {@link #bytes(int)}, or the whole column at once through
+ * {@link #data()} and {@link #offsets()}. {@link #get(int)} is a convenience for characters: it
+ * creates a view per call and decodes words beyond ASCII, as in Hindi or Gujarati, into a new
+ * String, so prefer the byte views for those languages. Reset the column between batches to reuse
+ * its memory; it only grows, by doubling, when a batch does not fit.
+ *
+ * <p>A column is not thread safe. Views of its rows are valid until it is reset.
+ */
+public final class WordColumn {
+
+  private static final int DEFAULT_ROWS = 1024;
+
+  /**
+   * Bytes reserved per row by default, enough for most amounts in any built-in language.
+   */
+  private static final int DEFAULT_BYTES_PER_ROW = 128;
+
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  /**
+   * Writes the words of one row of the source at the position of given buffer.
+   */
+  interface RowWriter {
+    void write(int row, ByteBuffer out);
+  }
+
+  private ByteBuffer data;
+  private ByteBuffer scratch = ByteBuffer.allocate(DEFAULT_BYTES_PER_ROW * 2);
+  private int[] offsets;
+  private int rows;
+
+  /**
+   * Creates a column sized for 1024 rows of 128 bytes.
+   */
+  public WordColumn() {
+    this(DEFAULT_ROWS, DEFAULT_ROWS * DEFAULT_BYTES_PER_ROW);
+  }
+
+  /**
+   * Creates a column sized for given number of rows and bytes of words, growing past them when
+   * needed.
+   *
+   * @param expectedRows number of rows to reserve room for
+   * @param expectedBytes number of bytes of words to reserve room for
+   * @throws IllegalArgumentException if either size is negative
+   */
+  public WordColumn(int expectedRows, int expectedBytes) {
+    if (expectedRows < 0 || expectedBytes < 0) {
+      throw new IllegalArgumentException("Invalid column size: " + expectedRows + " rows, "
+          + expectedBytes + " bytes");
+    }
+    this.data = ByteBuffer.allocateDirect(expectedBytes);
+    this.offsets = new int[expectedRows + 1];
+  }
+
+  /**
+   * returns number of rows in the column.
+   */
+  public int size() {
+    return rows;
+  }
+
+  /**
+   * returns number of bytes of words in the column.
+   */
+  public int byteSize() {
+    return offsets[rows];
+  }
+
+  /**
+   * returns number of bytes the column holds before growing.
+   */
+  public int capacity() {
+    return data.capacity();
+  }
+
+  /**
+   * returns position in {@link #data()} of the first byte of given row, or of the end of the
+   * column for {@code size()}.
+   *
+   * @throws IndexOutOfBoundsException if row is negative or beyond {@code size()}
+   */
+  public int offset(int row) {
+    if (row < 0 || row > rows) {
+      throw new IndexOutOfBoundsException("row " + row + ", size " + rows);
+    }
+    return offsets[row];
+  }
+
+  /**
+   * returns number of bytes of the words of given row.
+   *
+   * @throws IndexOutOfBoundsException if row is not in the column
+   */
+  public int length(int row) {
+    checkRow(row);
+    return offsets[row + 1] - offsets[row];
+  }
+
+  /**
+   * returns read-only view of the words of all rows, from position 0 to {@code byteSize()}.
+   */
+  public ByteBuffer data() {
+    ByteBuffer view = data.asReadOnlyBuffer();
+    view.limit(offsets[rows]).position(0);
+    return view;
+  }
+
+  /**
+   * returns copy of the {@code size() + 1} offsets of the rows in {@link #data()}, the last one
+   * being {@code byteSize()}.
+   */
+  public int[] offsets() {
+    return Arrays.copyOf(offsets, rows + 1);
+  }
+
+  /**
+   * returns read-only view of the UTF-8 words of given row, from position 0 to its length.
+   *
+   * @throws IndexOutOfBoundsException if row is not in the column
+   */
+  public ByteBuffer bytes(int row) {
+    checkRow(row);
+    ByteBuffer view = data.asReadOnlyBuffer();
+    view.limit(offsets[row + 1]).position(offsets[row]);
+    return view.slice();
+  }
+
+  /**
+   * returns new view of the words of given row as characters. Words of a single byte per
+   * character, as in English, are read in place; others are decoded into a String on first access
+   * of the view, use {@link #bytes(int)} to read them without copying.
+   *
+   * @throws IndexOutOfBoundsException if row is not in the column
+   */
+  public CharSequence get(int row) {
+    checkRow(row);
+    return new Utf8Sequence(data, offsets[row], offsets[row + 1]);
+  }
+
+  /**
+   * Appends the words of given row to given builder.
+   *
+   * @param row row of the column
+   * @param out builder receiving the characters
+   * @throws IndexOutOfBoundsException if row is not in the column
+   */
+  public void appendTo(int row, StringBuilder out) {
+    checkRow(row);
+    Utf8.decode(data, offsets[row], offsets[row + 1], out);
+  }
+
+  /**
+   * Empties the column, keeping its memory for the next rows.
+   */
+  public void reset() {
+    rows = 0;
+    data.clear();
+  }
+
+  /**
+   * Adds a row holding the words written by given writer for given row of its source, growing the
+   * column if they do not fit.
+   *
+   * <p>Engines write words in many small puts, which cost more on a direct buffer than on a heap
+   * one, so the words are written to a heap scratch buffer and moved to the column in one copy.
+   */
+  void append(RowWriter writer, int row) {
+    if (rows + 1 == offsets.length) {
+      offsets = Arrays.copyOf(offsets, Math.max(2, offsets.length * 2));
+    }
+    while (true) {
+      try {
+        scratch.clear();
+        writer.write(row, scratch);
+        break;
+      } catch (BufferOverflowException e) {
+        scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+      }
+    }
+    scratch.flip();
+    while (data.remaining() < scratch.remaining()) {
+      grow();
+    }
+    data.put(scratch);
+    offsets[++rows] = data.position();
+  }
+
+  private void grow() {
+    int capacity = data.capacity();
+    if (capacity == MAX_CAPACITY) {
+      throw new IllegalStateException("Column is full: " + rows + " rows, " + capacity
+          + " bytes");
+    }
+    int grown = (int) Math.min(MAX_CAPACITY, Math.max(DEFAULT_BYTES_PER_ROW, capacity * 2L));
+    ByteBuffer bigger = ByteBuffer.allocateDirect(grown);
+    data.flip();
+    bigger.put(data);
+    data = bigger;
+  }
+
+  private void checkRow(int row) {
+    if (row < 0 || row >= rows) {
+      throw new IndexOutOfBoundsException("row " + row + ", size " + rows);
+    }
+  }
+
+  /**
+   * {@link CharSequence} view over UTF-8 words of a buffer, reading single byte characters in
+   * place and decoding the others on first access.
+   */
+  private static final class Utf8Sequence implements CharSequence {
+
+    private final ByteBuffer buffer;
+    private final int from;
+    private final int to;
+    private final boolean singleByte;
+    private String decoded;
+
+    Utf8Sequence(ByteBuffer buffer, int from, int to) {
+      this.buffer = buffer;
+      this.from = from;
+      this.to = to;
+      boolean ascii = true;
+      for (int i = from; i < to && ascii; i++) {
+        ascii = buffer.get(i) >= 0;
+      }
+      this.singleByte = ascii;
+    }
+
+    @Override
+    public int length() {
+      return singleByte ? to - from : decoded().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (!singleByte) {
+        return decoded().charAt(index);
+      }
+      if (index < 0 || index >= to - from) {
+        throw new IndexOutOfBoundsException("index " + index + ", length " + (to - from));
+      }
+      return (char) buffer.get(from + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      if (!singleByte) {
+        return decoded().subSequence(start, end);
+      }
+      if (start < 0 || end > to - from || start > end) {
+        throw new IndexOutOfBoundsException("range " + start + "-" + end + ", length "
+            + (to - from));
+      }
+      return new Utf8Sequence(buffer, from + start, from + end);
+    }
+
+    @Override
+    public String toString() {
+      return decoded();
+    }
+
+    private String decoded() {
+      if (decoded == null) {
+        StringBuilder sb = new StringBuilder(to - from);
+        Utf8.decode(buffer, from, to, sb);
+        decoded = sb.toString();
+      }
+      return decoded;
+    }
+  }
+}
@@ -0,0 +1,567 @@
+package com.dw.num.to.word;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads amounts back from their words, e.g. "Twelve Lacs Thirty Four Thousand Rupees Fifty Paise
+ * Only", to check the amount in words of a cheque or an invoice against its figures.
+ *
+ * <p>Every word and phrase of a language, its words for 0-99, hundreds, scale words, "Only" and
+ * the texts of its currencies, is compiled into one automaton over lower case characters, held in
+ * flat arrays: each state owns a sorted run of labelled edges. Parsing walks the text once, char by
+ * char, taking the longest phrase ending on a word boundary, and folds each phrase into the amount
+ * as it is read, without a regular expression nor allocating per word. Letters are compared lower
+ * cased and runs of whitespace, commas, hyphens and slashes all match a single separator, so that
+ * "twenty-one", "Twenty  One" and "TWENTY ONE" read the same. So do the other symbols of the
+ * separators of the definition, e.g. "_" in a style writing "One_Hundred".
+ */
+final class WordParser {
+
+  private static final int NONE = -1;
+  /**
+   * Decimal text of the key of currencies read without one and without fraction, whatever their
+   * decimal text.
+   */
+  private static final int ANY = -2;
+  private static final long NO_MATCH = -1L;
+  private static final char SEPARATOR = ' ';
+  private static final char ASCII_END = 0x80;
+  private static final char NO_BREAK_SPACE = '\u00A0';
+  private static final char OGHAM_SPACE = '\u1680';
+
+  private static final byte NUMBER = 0;
+  private static final byte HUNDRED = 1;
+  private static final byte CONNECTOR = 2;
+  private static final byte SCALE = 3;
+  private static final byte CURRENCY = 4;
+  private static final byte ONLY = 5;
+
+  private static final int HUNDRED_VALUE = 100;
+  private static final int THOUSAND_VALUE = 1000;
+
+  /**
+   * First edge of each state, the edges of state s being [edgeStarts[s], edgeStarts[s + 1]).
+   */
+  private final int[] edgeStarts;
+  private final char[] edgeLabels;
+  private final int[] edgeTargets;
+  /**
+   * Targets of the edges of the first state, which has most of them, by label from rootLabel.
+   */
+  private final int[] rootTargets;
+  private final char rootLabel;
+  /**
+   * Token of the phrase ending at each state, NONE when no phrase ends there.
+   */
+  private final int[] accepts;
+  private final byte[] tokenKinds;
+  private final int[] tokenValues;
+
+  private final int groupSize;
+  private final long[] scalePowers;
+  /**
+   * Symbols of the separators of the definition that are not separators of every language.
+   */
+  private final String otherSeparators;
+
+  /**
+   * Sorted codes of the currencies rendering each pair of currency texts, see {@link #key}.
+   */
+  private final Map<Long, List<String>> currencyCodes = new HashMap<>();
+  private final int defaultWholeToken;
+  private final int defaultDecimalToken;
+
+  /**
+   * Compiles the automaton of given language and currency texts.
+   *
+   * @param definition validated definition of the language
+   * @param currencies currency texts of the language
+   */
+  WordParser(LanguageDefinition definition, CurrencyIndex currencies) {
+    this.otherSeparators = otherSeparators(definition.separator(), definition.tensSeparator());
+    Map<String, Integer> tokens = new HashMap<>();
+    List<Byte> kinds = new ArrayList<>();
+    List<Integer> values = new ArrayList<>();
+
+    String[] belowHundred = definition.belowHundred();
+    for (int i = 0; i < belowHundred.length; i++) {
+      addToken(tokens, kinds, values, belowHundred[i], NUMBER, i);
+    }
+    for (int i = HUNDRED_VALUE; i < THOUSAND_VALUE; i++) {
+      if (definition.irregular(i) != null) {
+        addToken(tokens, kinds, values, definition.irregular(i), NUMBER, i);
+      }
+    }
+    for (int digit = 1; digit < 10; digit++) {
+      addToken(tokens, kinds, values, definition.hundreds(digit), NUMBER, digit * HUNDRED_VALUE);
+    }
+    addToken(tokens, kinds, values, definition.hundred(), HUNDRED, HUNDRED_VALUE);
+    if (definition.hundredConnector() != null) {
+      addToken(tokens, kinds, values, definition.hundredConnector(), CONNECTOR, 0);
+    }
+    for (String connector : definition.otherHundredConnectors()) {
+      addToken(tokens, kinds, values, connector, CONNECTOR, 0);
+    }
+    String[] scales = definition.scales();
+    int groupDigits = definition.getNumberingSystem().getGroupDigits();
+    this.groupSize = groupDigits == 2 ? HUNDRED_VALUE : THOUSAND_VALUE;
+    this.scalePowers = new long[scales.length];
+    for (int i = 0; i < scales.length; i++) {
+      addToken(tokens, kinds, values, scales[i], SCALE, i);
+      long power = 1;
+      for (int digit = 3 + i * groupDigits; digit > 0; digit--) {
+        power *= 10;
+      }
+      scalePowers[i] = power;
+    }
+    addToken(tokens, kinds, values, definition.only(), ONLY, 0);
+
+    // Currencies sorted by code, so that candidates come out sorted
+    Map<String, CurrencyText> entries = new TreeMap<>(currencies.entries());
+    for (Map.Entry<String, CurrencyText> entry : entries.entrySet()) {
+      int wholeToken = addCurrency(tokens, kinds, values, entry.getValue().wholeValText);
+      int decimalToken = addCurrency(tokens, kinds, values, entry.getValue().decimalValText);
+      if (wholeToken == NONE) {
+        continue;
+      }
+      // Read with its decimal text, with none when it has none, and whatever it is without fraction
+      addCurrencyCode(wholeToken, decimalToken, entry.getKey());
+      addCurrencyCode(wholeToken, ANY, entry.getKey());
+    }
+    for (Map.Entry<Long, List<String>> entry : currencyCodes.entrySet()) {
+      entry.setValue(Collections.unmodifiableList(entry.getValue()));
+    }
+    this.defaultWholeToken = addCurrency(tokens, kinds, values,
+        currencies.fallback().wholeValText);
+    this.defaultDecimalToken = addCurrency(tokens, kinds, values,
+        currencies.fallback().decimalValText);
+
+    this.tokenKinds = new byte[kinds.size()];
+    this.tokenValues = new int[values.size()];
+    for (int i = 0; i < tokenKinds.length; i++) {
+      tokenKinds[i] = kinds.get(i);
+      tokenValues[i] = values.get(i);
+    }
+
+    // Trie of the phrases, then laid out breadth first with the edges of a state side by side
+    Node root = new Node();
+    for (Map.Entry<String, Integer> entry : tokens.entrySet()) {
+      Node node = root;
+      String key = entry.getKey();
+      for (int i = 0; i < key.length(); i++) {
+        node = node.children.computeIfAbsent(key.charAt(i), label -> new Node());
+      }
+      node.token = entry.getValue();
+    }
+    List<Node> states = new ArrayList<>();
+    ArrayDeque<Node> queue = new ArrayDeque<>();
+    root.state = 0;
+    states.add(root);
+    queue.add(root);
+    int edges = 0;
+    while (!queue.isEmpty()) {
+      for (Node child : queue.poll().children.values()) {
+        child.state = states.size();
+        states.add(child);
+        queue.add(child);
+        edges++;
+      }
+    }
+    this.edgeStarts = new int[states.size() + 1];
+    this.edgeLabels = new char[edges];
+    this.edgeTargets = new int[edges];
+    this.accepts = new int[states.size()];
+    int edge = 0;
+    for (int state = 0; state < states.size(); state++) {
+      Node node = states.get(state);
+      edgeStarts[state] = edge;
+      accepts[state] = node.token;
+      for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+        edgeLabels[edge] = child.getKey();
+        edgeTargets[edge++] = child.getValue().state;
+      }
+    }
+    edgeStarts[states.size()] = edge;
+    this.rootLabel = edges > 0 ? edgeLabels[0] : 0;
+    int rootEdges = edgeStarts[1];
+    this.rootTargets = new int[rootEdges > 0 ? edgeLabels[rootEdges - 1] - rootLabel + 1 : 0];
+    Arrays.fill(rootTargets, NONE);
+    for (int i = 0; i < rootEdges; i++) {
+      rootTargets[edgeLabels[i] - rootLabel] = edgeTargets[i];
+    }
+  }
+
+  /**
+   * State of the trie under construction.
+   */
+  private static final class Node {
+    final TreeMap<Character, Node> children = new TreeMap<>();
+    int token = NONE;
+    int state;
+  }
+
+  private void addCurrencyCode(int wholeToken, int decimalToken, String code) {
+    currencyCodes.computeIfAbsent(key(wholeToken, decimalToken), key -> new ArrayList<>())
+        .add(code);
+  }
+
+  /**
+   * returns key of the currencies read with given whole and decimal texts, ANY as decimal text
+   * for an amount without fraction.
+   */
+  private static long key(int wholeToken, int decimalToken) {
+    return (long) wholeToken << Integer.SIZE | (decimalToken & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Adds the token of given phrase unless the phrase already has one, and returns the token of
+   * the phrase.
+   */
+  private int addToken(Map<String, Integer> tokens, List<Byte> kinds, List<Integer> values,
+      String phrase, byte kind, int value) {
+    String key = normalize(phrase);
+    Integer token = tokens.get(key);
+    if (token != null) {
+      return token;
+    }
+    tokens.put(key, kinds.size());
+    kinds.add(kind);
+    values.add(value);
+    return kinds.size() - 1;
+  }
+
+  /**
+   * returns token of given currency text, NONE when the text is null or blank or is already a
+   * word of another kind.
+   */
+  private int addCurrency(Map<String, Integer> tokens, List<Byte> kinds,
+      List<Integer> values, String text) {
+    if (text == null || normalize(text).isEmpty()) {
+      return NONE;
+    }
+    int token = addToken(tokens, kinds, values, text, CURRENCY, 0);
+    return kinds.get(token) == CURRENCY ? token : NONE;
+  }
+
+  /**
+   * returns symbols of given separators that are not separators of every language, to be read as
+   * separators too; letters and digits never are.
+   */
+  private static String otherSeparators(String... separators) {
+    StringBuilder sb = new StringBuilder();
+    for (String separator : separators) {
+      for (int i = 0; separator != null && i < separator.length(); i++) {
+        char ch = separator.charAt(i);
+        if (!isSeparator(ch) && !Character.isLetterOrDigit(ch)
+            && sb.indexOf(String.valueOf(ch)) < 0) {
+          sb.append(ch);
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * returns given phrase lower cased, its separators collapsed into single spaces and trimmed.
+   */
+  private String normalize(String phrase) {
+    StringBuilder sb = new StringBuilder(phrase.length());
+    for (int i = 0; i < phrase.length(); i++) {
+      char ch = phrase.charAt(i);
+      if (!separates(ch)) {
+        sb.append(toLowerCase(ch));
+      } else if (sb.length() > 0 && sb.charAt(sb.length() - 1) != SEPARATOR) {
+        sb.append(SEPARATOR);
+      }
+    }
+    int length = sb.length();
+    if (length > 0 && sb.charAt(length - 1) == SEPARATOR) {
+      sb.setLength(length - 1);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * returns whether given char separates words, in any language or in the definition.
+   */
+  private boolean separates(char ch) {
+    return isSeparator(ch) || !otherSeparators.isEmpty() && otherSeparators.indexOf(ch) >= 0;
+  }
+
+  private static boolean isSeparator(char ch) {
+    if (ch < ASCII_END) {
+      return ch == ' ' || ch == ',' || ch == '-' || ch == '/'
+          || ch < ' ' && Character.isWhitespace(ch);
+    }
+    // No space between the no-break space and the Ogham one, e.g. in Devanagari or Gujarati
+    if (ch > NO_BREAK_SPACE && ch < OGHAM_SPACE) {
+      return false;
+    }
+    return Character.isWhitespace(ch) || Character.isSpaceChar(ch);
+  }
+
+  /**
+   * returns given char lower cased, without looking up the Unicode tables for ASCII.
+   */
+  private static char toLowerCase(char ch) {
+    if (ch < ASCII_END) {
+      return ch >= 'A' && ch <= 'Z' ? (char) (ch + ('a' - 'A')) : ch;
+    }
+    return Character.toLowerCase(ch);
+  }
+
+  /**
+   * Reads an amount from its words: whole part, currency text, then optionally the fraction part
+   * and its currency text, and "Only", which may be missing. Words of unknown currencies, or
+   * amounts without a currency text at all, are read too and name no currency.
+   *
+   * @param text words of the amount
+   * @return the amount read
+   * @throws NumberFormatException if the text holds an unknown word, words out of place or an
+   *     amount beyond a long
+   */
+  ParsedAmount parse(CharSequence text) {
+    int length = text.length();
+    Accumulator number = new Accumulator();
+    long whole = 0;
+    int wholeText = NONE;
+    int decimalText = NONE;
+    boolean fractionPart = false;
+    boolean only = false;
+    int position = skipSeparators(text, 0, length);
+    while (position < length) {
+      long match = only ? NO_MATCH : match(text, position, length);
+      if (match == NO_MATCH) {
+        throw unexpected(text, position);
+      }
+      int token = (int) (match >>> Integer.SIZE);
+      byte kind = tokenKinds[token];
+      if (kind == ONLY) {
+        only = true;
+      } else if (kind == CURRENCY) {
+        if (number.words == 0 || decimalText != NONE) {
+          throw unexpected(text, position);
+        }
+        if (fractionPart) {
+          decimalText = token;
+        } else {
+          whole = number.value(text);
+          wholeText = token;
+          fractionPart = true;
+          number = new Accumulator();
+        }
+      } else if (decimalText != NONE || !number.add(kind, tokenValues[token])) {
+        throw unexpected(text, position);
+      }
+      position = skipSeparators(text, (int) match, length);
+    }
+    if (!fractionPart) {
+      if (number.words == 0) {
+        throw new NumberFormatException("No amount in words: \"" + text + "\"");
+      }
+      return new ParsedAmount(number.value(text), 0, Collections.emptyList(), false);
+    }
+    long fraction = number.words > 0 ? number.value(text) : 0;
+    return currencies(text, whole, fraction, wholeText, decimalText);
+  }
+
+  /**
+   * returns given amount along with the currencies having the texts read, or throws when no
+   * currency has them.
+   */
+  private ParsedAmount currencies(CharSequence text, long whole, long fraction, int wholeText,
+      int decimalText) {
+    int decimalKey = decimalText != NONE ? decimalText : fraction == 0 ? ANY : NONE;
+    List<String> codes = currencyCodes.get(key(wholeText, decimalKey));
+    if (codes == null) {
+      codes = Collections.emptyList();
+    }
+    boolean defaultCurrency =
+        hasTexts(defaultWholeToken, defaultDecimalToken, fraction, wholeText, decimalText);
+    if (codes.isEmpty() && !defaultCurrency) {
+      throw new NumberFormatException("No currency has the texts of \"" + text + "\"");
+    }
+    return new ParsedAmount(whole, fraction, codes, defaultCurrency);
+  }
+
+  /**
+   * returns whether a currency of given texts renders an amount with given fraction with the
+   * texts read. Currencies without a decimal text write the fraction without one.
+   */
+  private static boolean hasTexts(int wholeToken, int decimalToken, long fraction, int wholeText,
+      int decimalText) {
+    if (wholeToken != wholeText) {
+      return false;
+    }
+    if (decimalText != NONE) {
+      return decimalToken == decimalText;
+    }
+    return fraction == 0 || decimalToken == NONE;
+  }
+
+  /**
+   * returns the token of the longest phrase starting at given position and ending on a word
+   * boundary in its high half and the end of the phrase in its low half, or NO_MATCH.
+   */
+  private long match(CharSequence text, int from, int length) {
+    long found = NO_MATCH;
+    int state = 0;
+    int position = from;
+    while (position < length) {
+      char ch = text.charAt(position);
+      if (separates(ch)) {
+        if (accepts[state] != NONE) {
+          found = (long) accepts[state] << Integer.SIZE | position;
+        }
+        position = skipSeparators(text, position, length);
+        ch = SEPARATOR;
+      } else {
+        position++;
+        ch = toLowerCase(ch);
+      }
+      state = target(state, ch);
+      if (state == NONE) {
+        return found;
+      }
+    }
+    return accepts[state] != NONE ? (long) accepts[state] << Integer.SIZE | length : found;
+  }
+
+  /**
+   * returns state reached from given one by the edge of given label, NONE when it has none.
+   */
+  private int target(int state, char label) {
+    if (state == 0) {
+      int index = label - rootLabel;
+      return index >= 0 && index < rootTargets.length ? rootTargets[index] : NONE;
+    }
+    int low = edgeStarts[state];
+    int high = edgeStarts[state + 1] - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      char middleLabel = edgeLabels[middle];
+      if (middleLabel < label) {
+        low = middle + 1;
+      } else if (middleLabel > label) {
+        high = middle - 1;
+      } else {
+        return edgeTargets[middle];
+      }
+    }
+    return NONE;
+  }
+
+  private int skipSeparators(CharSequence text, int from, int length) {
+    int position = from;
+    while (position < length && separates(text.charAt(position))) {
+      position++;
+    }
+    return position;
+  }
+
+  private static NumberFormatException unexpected(CharSequence text, int position) {
+    return new NumberFormatException("Unexpected word at index " + position + " of amount in "
+        + "words: \"" + text + "\"");
+  }
+
+  /**
+   * Value of the number words read so far: completed chunks under the largest scale word, the
+   * groups of the current chunk and the group being read.
+   */
+  private final class Accumulator {
+    int words;
+    long total;
+    long chunk;
+    int group;
+    boolean hundreds;
+    boolean zero;
+    boolean overflow;
+    /**
+     * Index of the last scale word of the current chunk, the largest one when none.
+     */
+    int lastScale = scalePowers.length - 1;
+
+    /**
+     * Folds a word in the number, returns false when it is out of place.
+     */
+    boolean add(byte kind, int value) {
+      if (zero) {
+        return false;
+      }
+      words++;
+      switch (kind) {
+        case NUMBER:
+          if (value == 0) {
+            zero = words == 1;
+            return zero;
+          }
+          if (group == 0) {
+            group = value;
+            hundreds = value >= HUNDRED_VALUE && value % HUNDRED_VALUE == 0;
+            return true;
+          }
+          if (hundreds && value < HUNDRED_VALUE) {
+            group += value;
+            hundreds = false;
+            return true;
+          }
+          return false;
+        case HUNDRED:
+          if (group < 1 || group > 9) {
+            return false;
+          }
+          group *= HUNDRED_VALUE;
+          hundreds = true;
+          return true;
+        case CONNECTOR:
+          return hundreds;
+        case SCALE:
+          return addScale(value);
+        default:
+          return false;
+      }
+    }
+
+    private boolean addScale(int scale) {
+      int largest = scalePowers.length - 1;
+      hundreds = false;
+      if (scale < largest) {
+        if (group == 0 || group >= groupSize || scale >= lastScale) {
+          return false;
+        }
+        chunk += group * scalePowers[scale];
+        group = 0;
+        lastScale = scale;
+        return true;
+      }
+      long value = chunk + group;
+      if (value == 0 && total == 0) {
+        return false;
+      }
+      // The largest scale word repeats: "One Crore Crore" is a crore of crores.
+      if (total > (Long.MAX_VALUE - value) / scalePowers[largest]) {
+        overflow = true;
+      } else {
+        total = (total + value) * scalePowers[largest];
+      }
+      chunk = 0;
+      group = 0;
+      lastScale = largest;
+      return true;
+    }
+
+    long value(CharSequence text) {
+      if (overflow || total > Long.MAX_VALUE - chunk - group) {
+        throw new NumberFormatException("Amount in words beyond a long: \"" + text + "\"");
+      }
+      return total + chunk + group;
+    }
+  }
+}